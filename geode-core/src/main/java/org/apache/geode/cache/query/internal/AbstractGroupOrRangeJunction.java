@@ -258,6 +258,9 @@ public abstract class AbstractGroupOrRangeJunction extends AbstractCompiledValue
 
     // Sort the operands in increasing order of resultset size
     Iterator i = sortedConditionsList.iterator();
+    // whether an index result of this junction is in the intermediate results. Results passed in
+    // by the caller do not count, so the first indexed condition is always used.
+    boolean intersected = false;
     // SortedSet intersectionSet = new TreeSet(new SelectResultsComparator());
     while (i.hasNext()) {
       // Asif:TODO The intermediate ResultSet should be passed as null when
@@ -278,6 +281,11 @@ public abstract class AbstractGroupOrRangeJunction extends AbstractCompiledValue
       // RangeJunction then the Filter is a RangeJunctionEvaluator
       SelectResults filterResults = null;
       Filter filter = (Filter) i.next();
+      if (_operator == LITERAL_and && intersected
+          && CompiledJunction.isIntersectionTooCostly(filter, intermediateResults, context)) {
+        // the residual filter operands will be transferred for iter evaluation
+        break;
+      }
       boolean isConditioningNeeded = filter.isConditioningNeededForIndex(
           this.indpndntItr.length == 1 ? this.indpndntItr[0] : null, context,
           this.completeExpansion);
@@ -300,6 +308,7 @@ public abstract class AbstractGroupOrRangeJunction extends AbstractCompiledValue
           intermediateResults =
               (intermediateResults == null || !isConditioningNeeded) ? filterResults
                   : QueryUtils.intersection(intermediateResults, filterResults, context);
+          intersected = true;
           i.remove();
           if (intermediateResults.size() <= indexThresholdSize) {
             // Abort further intersection , the residual filter operands will be transferred for
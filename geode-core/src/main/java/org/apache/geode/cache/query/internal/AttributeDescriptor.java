@@ -15,11 +15,15 @@
 
 package org.apache.geode.cache.query.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -53,6 +57,16 @@ public class AttributeDescriptor {
   /** cache for remembering the correct Member for a class and attribute */
   private static final ConcurrentMap _cache = new ConcurrentHashMap();
 
+  private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * The accessor for the class this attribute was last read from. A query reads the same attribute
+   * from objects of one class over and over, so this avoids looking up the member in the shared
+   * cache, and the reflective call, for every object. It is replaced whenever an object of another
+   * class is read.
+   */
+  private volatile ReadAccessor lastAccessor;
+
 
 
   public AttributeDescriptor(String name) {
@@ -93,7 +107,15 @@ public class AttributeDescriptor {
     }
 
     Class resolutionClass = target.getClass();
-    Member m = getReadMember(resolutionClass);
+    ReadAccessor accessor = this.lastAccessor;
+    if (accessor == null || accessor.targetClass != resolutionClass) {
+      accessor = new ReadAccessor(resolutionClass, getReadMember(resolutionClass));
+      this.lastAccessor = accessor;
+    }
+    if (accessor.handle != null) {
+      return accessor.read(target);
+    }
+    Member m = accessor.member;
     try {
       if (m instanceof Method) {
         try {
@@ -137,6 +159,56 @@ public class AttributeDescriptor {
   }
 
 
+  /**
+   * A field or method of one class that an attribute is read from, along with a method handle that
+   * reads it without going through reflection each time
+   */
+  private static class ReadAccessor {
+    final Class targetClass;
+    final Member member;
+    /** null if a method handle could not be created, in which case reflection is used */
+    final MethodHandle handle;
+
+    ReadAccessor(Class targetClass, Member member) {
+      this.targetClass = targetClass;
+      this.member = member;
+      this.handle = createHandle(member);
+    }
+
+    private static MethodHandle createHandle(Member member) {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      MethodHandle mh;
+      try {
+        if (member instanceof Method) {
+          mh = lookup.unreflect((Method) member);
+        } else {
+          mh = lookup.unreflectGetter((Field) member);
+        }
+      } catch (IllegalAccessException e) {
+        return null;
+      }
+      if (Modifier.isStatic(member.getModifiers())) {
+        mh = MethodHandles.dropArguments(mh, 0, Object.class);
+      }
+      return mh.asType(READ_TYPE);
+    }
+
+    Object read(Object target) throws QueryInvocationTargetException {
+      try {
+        return this.handle.invokeExact(target);
+      } catch (EntryDestroyedException e) {
+        // eat the exception
+        return QueryService.UNDEFINED;
+      } catch (Exception e) {
+        throw new QueryInvocationTargetException(e);
+      } catch (Throwable t) {
+        // errors thrown by the target, including VirtualMachineErrors such as
+        // StackOverflowError, are wrapped the same way as when the method is invoked reflectively
+        throw new QueryInvocationTargetException(new InvocationTargetException(t));
+      }
+    }
+  }
+
   /* this method is not yet used. Here to support Update statements */
   // returns either null or UNDEFINED
   /*
@@ -267,6 +267,9 @@ public class CompiledJunction extends AbstractCompiledValue implements Negatable
 
     // Sort the operands in increasing order of resultset size
     Iterator sortedConditionsItr = sortedConditionsList.iterator();
+    // whether an index result of this junction is in the intermediate results. Results passed in
+    // by the caller do not count, so the first indexed condition is always used.
+    boolean intersected = false;
     while (sortedConditionsItr.hasNext()) {
       // Asif:TODO The intermediate ResultSet should be passed as null when invoking
       // filterEvaluate. Just because filterEvaluate is being called, itself
@@ -280,14 +283,20 @@ public class CompiledJunction extends AbstractCompiledValue implements Negatable
       // recursion being ended by evaluating auxIterEvaluate if any. The passing
       // of IntermediateResult in filterEvalaute causes AND junction evaluation
       // to be corrupted , if the intermediateResultset contains some value.
-      SelectResults filterResults =
-          ((Filter) sortedConditionsItr.next()).filterEvaluate(context, null);
+      Filter filter = (Filter) sortedConditionsItr.next();
+      if (_operator == LITERAL_and && intersected
+          && isIntersectionTooCostly(filter, intermediateResults, context)) {
+        // the remaining filter operands will be transferred for iter evaluation
+        break;
+      }
+      SelectResults filterResults = filter.filterEvaluate(context, null);
       if (_operator == LITERAL_and) {
         if (filterResults != null && filterResults.isEmpty()) {
           return filterResults;
         } else if (filterResults != null) {
           intermediateResults = (intermediateResults == null) ? filterResults
               : QueryUtils.intersection(intermediateResults, filterResults, context);
+          intersected = true;
 
           sortedConditionsItr.remove();
 
@@ -316,6 +325,22 @@ public class CompiledJunction extends AbstractCompiledValue implements Negatable
     return intermediateResults;
   }
 
+  /**
+   * Returns true if the index result of the filter is estimated to be so much larger than the
+   * intermediate results that it is cheaper to evaluate the filter on each of the intermediate
+   * results than to intersect them with its index result. Callers only ask once the intermediate
+   * results include an index result of their own junction.
+   */
+  static boolean isIntersectionTooCostly(Filter filter, SelectResults intermediateResults,
+      ExecutionContext context) throws FunctionDomainException, TypeMismatchException,
+      NameResolutionException, QueryInvocationTargetException {
+    if (intermediateResults == null || intersectionSizeRatio <= 0) {
+      return false;
+    }
+    long threshold = (long) intermediateResults.size() * intersectionSizeRatio;
+    return filter.getSizeEstimate(context) > threshold;
+  }
+
   /** invariant: the operand is known to be evaluated by iteration */
   SelectResults auxIterateEvaluate(CompiledValue operand, ExecutionContext context,
       SelectResults intermediateResults) throws FunctionDomainException, TypeMismatchException,
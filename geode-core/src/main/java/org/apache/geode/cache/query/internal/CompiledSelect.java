@@ -15,10 +15,12 @@
 package org.apache.geode.cache.query.internal;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
 
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.CacheClosedException;
@@ -38,6 +40,9 @@ import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.cache.query.Struct;
 import org.apache.geode.cache.query.TypeMismatchException;
 import org.apache.geode.cache.query.internal.index.AbstractIndex;
+import org.apache.geode.cache.query.internal.index.ColumnStore;
+import org.apache.geode.cache.query.internal.index.IndexManager;
+import org.apache.geode.cache.query.internal.index.IndexUtils;
 import org.apache.geode.cache.query.internal.index.PartitionedIndex;
 import org.apache.geode.cache.query.internal.types.ObjectTypeImpl;
 import org.apache.geode.cache.query.internal.types.StructTypeImpl;
@@ -45,6 +50,11 @@ import org.apache.geode.cache.query.internal.types.TypeUtils;
 import org.apache.geode.cache.query.types.CollectionType;
 import org.apache.geode.cache.query.types.ObjectType;
 import org.apache.geode.cache.query.types.StructType;
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.LocalDataSet;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.PartitionedRegionDataStore;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.pdx.PdxInstance;
 import org.apache.geode.pdx.internal.PdxString;
@@ -693,6 +703,11 @@ public class CompiledSelect extends AbstractCompiledValue {
 
     SelectResults results = prepareEmptyResultSet(context, false);
 
+    if (getType() == GROUP_BY_SELECT && this.orderByAttrs == null
+        && addResultsFromColumns(context, results, evaluateWhereClause)) {
+      return results;
+    }
+
     // TODO:Asif: SELF : Work on limit implementation on bulk get
     // check for bulk get optimization
     if (evaluateWhereClause) {
@@ -719,6 +734,210 @@ public class CompiledSelect extends AbstractCompiledValue {
     return results;
   }
 
+  /**
+   * Check for an aggregate over numeric PDX fields of a region that has a {@link ColumnStore} of the
+   * fields, and if so add the projected values of the matching entries to the results from the
+   * columns, without reading the entries. The where clause, if it is to be evaluated, must be a
+   * comparison of a field to a constant or an AND of such comparisons.
+   *
+   * @return true if the results were added, false if the query has to iterate over the region
+   */
+  private boolean addResultsFromColumns(ExecutionContext context, SelectResults results,
+      boolean evaluateWhereClause) throws TypeMismatchException, FunctionDomainException,
+      NameResolutionException, QueryInvocationTargetException {
+    List iterList = context.getCurrentIterators();
+    if (iterList.size() != 1 || this.projAttrs == null || this.distinct || isCount()
+        || context.isCqQueryContext() || !(results instanceof Bag)) {
+      return false;
+    }
+    RuntimeIterator rIter = (RuntimeIterator) iterList.get(0);
+    CompiledValue colnExpr = rIter.getCmpIteratorDefn().getCollectionExpr();
+    if (rIter.getName() == null || !(colnExpr instanceof CompiledRegion)) {
+      return false;
+    }
+    Object collection = colnExpr.evaluate(context);
+    if (!(collection instanceof QRegion)) {
+      return false;
+    }
+    List<ColumnStore> stores = getColumnStores(((QRegion) collection).getRegion());
+    if (stores == null) {
+      return false;
+    }
+    // the stores of the buckets of a partitioned region have the same columns
+    ColumnStore store = stores.get(0);
+
+    // each projection is either a column or a constant
+    int projCount = this.projAttrs.size();
+    int[] projColumns = new int[projCount];
+    Object[] constants = new Object[projCount];
+    for (int i = 0; i < projCount; i++) {
+      CompiledValue projection = (CompiledValue) ((Object[]) this.projAttrs.get(i))[1];
+      if (projection instanceof CompiledLiteral) {
+        projColumns[i] = -1;
+        constants[i] = projection.evaluate(context);
+      } else {
+        projColumns[i] = getColumn(projection, rIter, store);
+        if (projColumns[i] < 0) {
+          return false;
+        }
+      }
+    }
+    List<CompiledComparison> conditions = new ArrayList<CompiledComparison>();
+    if (evaluateWhereClause && !getColumnConditions(this.whereClause, conditions)) {
+      return false;
+    }
+
+    int[] conditionColumns = new int[conditions.size()];
+    int[] operators = new int[conditions.size()];
+    Object[] bounds = new Object[conditions.size()];
+    for (int c = 0; c < conditionColumns.length; c++) {
+      CompiledComparison condition = conditions.get(c);
+      CompiledValue left = (CompiledValue) condition.getChildren().get(0);
+      CompiledValue right = (CompiledValue) condition.getChildren().get(1);
+      operators[c] = condition.getOperator();
+      conditionColumns[c] = getColumn(left, rIter, store);
+      if (conditionColumns[c] >= 0) {
+        bounds[c] = right.evaluate(context);
+      } else {
+        conditionColumns[c] = getColumn(right, rIter, store);
+        bounds[c] = left.evaluate(context);
+        operators[c] = reflectOperator(operators[c]);
+      }
+      if (conditionColumns[c] < 0 || bounds[c] == null || bounds[c] == QueryService.UNDEFINED) {
+        return false;
+      }
+    }
+
+    // hold the read locks of all the stores, so that results are only added once every store is
+    // known to be complete and able to apply the conditions
+    List<Lock> readLocks = new ArrayList<Lock>(stores.size());
+    try {
+      BitSet[] slots = new BitSet[stores.size()];
+      for (int s = 0; s < slots.length; s++) {
+        ColumnStore bucketStore = stores.get(s);
+        Lock readLock = bucketStore.readLock();
+        readLock.lock();
+        readLocks.add(readLock);
+        if (!bucketStore.isComplete()) {
+          return false;
+        }
+        slots[s] = bucketStore.getLiveSlots();
+        for (int c = 0; c < conditionColumns.length; c++) {
+          if (!bucketStore.filter(slots[s], conditionColumns[c], operators[c], bounds[c])) {
+            return false;
+          }
+        }
+      }
+      ObjectType elementType = results.getCollectionType().getElementType();
+      boolean isStruct = elementType != null && elementType.isStructType();
+      for (int s = 0; s < slots.length; s++) {
+        ColumnStore bucketStore = stores.get(s);
+        BitSet bucketSlots = slots[s];
+        for (int slot = bucketSlots.nextSetBit(0); slot >= 0;
+            slot = bucketSlots.nextSetBit(slot + 1)) {
+          Object[] values = new Object[projCount];
+          for (int i = 0; i < projCount; i++) {
+            values[i] =
+                projColumns[i] < 0 ? constants[i] : bucketStore.getValue(projColumns[i], slot);
+          }
+          ((Bag) results).addAndGetOccurence(isStruct ? values : values[0]);
+        }
+      }
+    } finally {
+      for (Lock readLock : readLocks) {
+        readLock.unlock();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the column stores holding the values of the region, or null if it doesn't have any.
+   * While a partitioned region is queried the region is the LocalDataSet of the buckets being
+   * queried, each of which has a store of its own.
+   */
+  private List<ColumnStore> getColumnStores(Region region) {
+    List<LocalRegion> regions = new ArrayList<LocalRegion>();
+    if (region instanceof LocalDataSet) {
+      LocalDataSet localData = (LocalDataSet) region;
+      PartitionedRegionDataStore dataStore = localData.getProxy().getDataStore();
+      if (dataStore == null || localData.getBucketSet() == null
+          || localData.getBucketSet().isEmpty()) {
+        return null;
+      }
+      for (Integer bucketId : localData.getBucketSet()) {
+        BucketRegion bucket = dataStore.getLocalBucketById(bucketId);
+        if (bucket == null) {
+          // let the iteration report the bucket that moved
+          return null;
+        }
+        regions.add(bucket);
+      }
+    } else if (region instanceof LocalRegion && !(region instanceof PartitionedRegion)) {
+      regions.add((LocalRegion) region);
+    } else {
+      return null;
+    }
+
+    List<ColumnStore> stores = new ArrayList<ColumnStore>(regions.size());
+    for (LocalRegion localRegion : regions) {
+      // only create an index manager for a region with columns configured
+      IndexManager indexManager = IndexUtils.getIndexManager(localRegion,
+          ColumnStore.getColumnarFields(localRegion) != null);
+      ColumnStore store = indexManager == null ? null : indexManager.getColumnStore();
+      if (store == null) {
+        return null;
+      }
+      stores.add(store);
+    }
+    return stores;
+  }
+
+  /**
+   * Returns the column of the store holding the value of the given iterator.field path, or -1
+   */
+  private int getColumn(CompiledValue value, RuntimeIterator rIter, ColumnStore store) {
+    if (!(value instanceof CompiledPath)) {
+      return -1;
+    }
+    CompiledValue receiver = ((CompiledPath) value).getReceiver();
+    if (!(receiver instanceof CompiledID)
+        || !((CompiledID) receiver).getId().equals(rIter.getName())) {
+      return -1;
+    }
+    return store.getColumn(((CompiledPath) value).getTailID());
+  }
+
+  /**
+   * Collects the comparisons making up the condition, returning false if it isn't made up of
+   * comparisons of a path to a constant joined by AND
+   */
+  private boolean getColumnConditions(CompiledValue condition,
+      List<CompiledComparison> conditions) {
+    if (condition instanceof CompiledComparison) {
+      List operands = condition.getChildren();
+      if (isConstant((CompiledValue) operands.get(0))
+          == isConstant((CompiledValue) operands.get(1))) {
+        return false;
+      }
+      conditions.add((CompiledComparison) condition);
+      return true;
+    } else if (condition instanceof CompiledJunction
+        && ((CompiledJunction) condition).getOperator() == LITERAL_and) {
+      for (Object operand : condition.getChildren()) {
+        if (!getColumnConditions((CompiledValue) operand, conditions)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private boolean isConstant(CompiledValue value) {
+    return value instanceof CompiledLiteral || value instanceof CompiledBindArgument;
+  }
+
   // @todo make this more general to work for any kind of map, not just regions
   /**
    * Check for the bulk-get pattern and if it applies do an optimized execution. The pattern is:
@@ -939,6 +1158,30 @@ public class CompiledSelect extends AbstractCompiledValue {
     }
   }
 
+  /**
+   * If the results of an ordered query with a LIMIT are collected in a sorted bag, keep only the
+   * first LIMIT of them in the bag as it is filled rather than sorting every result and then
+   * applying the limit. Not done for grouped queries, where the limit applies after aggregation.
+   */
+  private void boundToLimit(SelectResults results, ExecutionContext context)
+      throws TypeMismatchException {
+    if (!(results instanceof SortedResultsBag) || this.groupBy != null
+        || getType() == GROUP_BY_SELECT) {
+      return;
+    }
+    int limitValue;
+    try {
+      limitValue = evaluateLimitValue(context, this.limit);
+    } catch (FunctionDomainException | NameResolutionException
+        | QueryInvocationTargetException e) {
+      // the limit is evaluated again, and the problem reported, when it is applied
+      return;
+    }
+    if (limitValue >= 0) {
+      ((SortedResultsBag) results).setMaxSize(limitValue);
+    }
+  }
+
   private SelectResults prepareEmptyResultSet(ExecutionContext context, boolean ignoreOrderBy)
       throws TypeMismatchException, AmbiguousNameException {
     // Asif:if no projection attributes or '*'as projection attribute
@@ -970,6 +1213,7 @@ public class CompiledSelect extends AbstractCompiledValue {
                 : new OrderByComparator(this.orderByAttrs, (StructTypeImpl) elementType, context);
             results = this.distinct ? new SortedStructSet(comparator, (StructTypeImpl) elementType)
                 : new SortedStructBag(comparator, (StructTypeImpl) elementType, nullValuesAtStart);
+            boundToLimit(results, context);
 
           }
         } else {
@@ -983,6 +1227,7 @@ public class CompiledSelect extends AbstractCompiledValue {
                 : new OrderByComparator(this.orderByAttrs, elementType, context);
             results = this.distinct ? new SortedResultSet(comparator)
                 : new SortedResultsBag(comparator, nullValuesAtStart);
+            boundToLimit(results, context);
           }
           results.setElementType(elementType);
         }
@@ -58,6 +58,21 @@ public interface CompiledValue {
   public static final String INDEX_INFO = "index_info";
   public static final int indexThresholdSize =
       Integer.getInteger(INDX_THRESHOLD_PROP_STR, INDEX_RESULT_THRESHOLD_DEFAULT).intValue();
+  /**
+   * An AND junction stops intersecting index results, and evaluates its remaining conditions on the
+   * results so far, once the next index result is estimated to be this many times larger than
+   * those results. Scanning and intersecting the larger index result would cost more than checking
+   * the conditions on each of the results.
+   *
+   * @since Geode 1.1
+   */
+  public static final String INTERSECTION_SIZE_RATIO_PROP_STR =
+      DistributionConfig.GEMFIRE_PREFIX + "Query.INTERSECTION_SIZE_RATIO";
+  /**
+   * The ratio set by {@link #INTERSECTION_SIZE_RATIO_PROP_STR}. Zero or less disables the check.
+   */
+  public static final int intersectionSizeRatio =
+      Integer.getInteger(INTERSECTION_SIZE_RATIO_PROP_STR, 10).intValue();
   public static final String RESULT_TYPE = "result_type";
   public static final String PROJ_ATTRIB = "projection";
   public static final String ORDERBY_ATTRIB = "orderby";
@@ -268,6 +268,7 @@ public class DefaultQueryService implements QueryService {
       return null;
     }
     IndexManager indexManager = IndexUtils.getIndexManager(region, true);
+    context.waitForPendingIndexUpdates(indexManager);
     IndexData indexData = indexManager.getIndex(indexType, definitions, indexedExpression, context);
     return indexData;
   }
@@ -330,6 +331,7 @@ public class DefaultQueryService implements QueryService {
     if (indexManager == null) {
       return null;
     }
+    context.waitForPendingIndexUpdates(indexManager);
     return indexManager.getBestMatchIndex(indexType, definitions, indexedExpression, context);
   }
 
@@ -651,6 +651,12 @@ public class ExecutionContext {
     return defaultValue;
   }
 
+  /**
+   * Waits for the pending asynchronous updates of the indexes of a region before a query uses
+   * them. Index maintenance does not wait, so this does nothing unless overridden.
+   */
+  public void waitForPendingIndexUpdates(IndexManager indexManager) {}
+
   public boolean isCqQueryContext() {
     return false;
   }
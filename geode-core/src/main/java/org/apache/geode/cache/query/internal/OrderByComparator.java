@@ -220,4 +220,11 @@ public class OrderByComparator implements Comparator {
     // No op
   }
 
+  /**
+   * Forget the sort criteria of a row that was dropped from the results
+   */
+  void removeEvaluatedSortCriteria(Object row) {
+    // No op
+  }
+
 }
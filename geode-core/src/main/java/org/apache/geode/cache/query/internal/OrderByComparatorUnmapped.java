@@ -52,6 +52,11 @@ public class OrderByComparatorUnmapped extends OrderByComparator {
     this.orderByMap.put(row, this.calculateSortCriteria(context, row));
   }
 
+  @Override
+  void removeEvaluatedSortCriteria(Object row) {
+    this.orderByMap.remove(row);
+  }
+
   @Override
   protected Object[] evaluateSortCriteria(Object row) {
     return (Object[]) orderByMap.get(row);
@@ -17,6 +17,7 @@ package org.apache.geode.cache.query.internal;
 
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -45,6 +46,7 @@ import org.apache.geode.cache.query.internal.types.TypeUtils;
 import org.apache.geode.cache.query.types.CollectionType;
 import org.apache.geode.cache.query.types.MapType;
 import org.apache.geode.cache.query.types.ObjectType;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.i18n.LogWriterI18n;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.InternalDataSerializer;
@@ -59,6 +61,25 @@ import org.apache.geode.internal.logging.LogService;
 public class QCompiler implements OQLLexerTokenTypes {
   private static final Logger logger = LogService.getLogger();
 
+  /**
+   * The most query strings whose parse trees are kept, so that a query string compiled again is not
+   * lexed and parsed again. 0 disables the cache.
+   */
+  private static final int PARSE_CACHE_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "Query.PARSE_CACHE_SIZE", 1000);
+
+  /**
+   * Parse trees of query strings, least recently used first. Compiling a parse tree does not modify
+   * it, so a tree is compiled into a new CompiledValue tree for every query.
+   */
+  private static final Map<String, GemFireAST> parseCache =
+      Collections.synchronizedMap(new LinkedHashMap<String, GemFireAST>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, GemFireAST> eldest) {
+          return size() > PARSE_CACHE_SIZE;
+        }
+      });
+
   private Stack stack = new Stack();
   private Map imports = new HashMap();
   final private boolean isForIndexCompilation;
@@ -77,13 +98,19 @@ public class QCompiler implements OQLLexerTokenTypes {
    */
   public CompiledValue compileQuery(String oqlSource) {
     try {
-      OQLLexer lexer = new OQLLexer(new StringReader(oqlSource));
-      OQLParser parser = new OQLParser(lexer);
-      // by default use Unsupported AST class, overridden for supported
-      // operators in the grammer proper
-      parser.setASTNodeClass("org.apache.geode.cache.query.internal.parse.ASTUnsupported");
-      parser.queryProgram();
-      GemFireAST n = (GemFireAST) parser.getAST();
+      GemFireAST n = parseCache.get(oqlSource);
+      if (n == null) {
+        OQLLexer lexer = new OQLLexer(new StringReader(oqlSource));
+        OQLParser parser = new OQLParser(lexer);
+        // by default use Unsupported AST class, overridden for supported
+        // operators in the grammer proper
+        parser.setASTNodeClass("org.apache.geode.cache.query.internal.parse.ASTUnsupported");
+        parser.queryProgram();
+        n = (GemFireAST) parser.getAST();
+        if (PARSE_CACHE_SIZE > 0) {
+          parseCache.put(oqlSource, n);
+        }
+      }
       n.compile(this);
     } catch (Exception ex) { // This is to make sure that we are wrapping any antlr exception with
                              // GemFire Exception.
@@ -95,6 +122,11 @@ public class QCompiler implements OQLLexerTokenTypes {
     return (CompiledValue) pop();
   }
 
+  /** Used by tests to parse every query string again */
+  static void clearParseCache() {
+    parseCache.clear();
+  }
+
   /** Returns List<CompiledIteratorDef> */
   public List compileFromClause(String fromClause) {
     try {
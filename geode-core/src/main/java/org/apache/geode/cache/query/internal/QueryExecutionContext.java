@@ -18,13 +18,16 @@ import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
 
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.query.Query;
 import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.internal.index.IndexManager;
 import org.apache.geode.pdx.internal.PdxString;
 
 /**
@@ -69,6 +72,11 @@ public class QueryExecutionContext extends ExecutionContext {
 
   private ArrayList<String> hints = null;
 
+  /**
+   * Index managers whose pending updates this query has already waited for
+   */
+  private Set<IndexManager> waitedIndexManagers = null;
+
   /**
    * @param bindArguments
    * @param cache
@@ -234,4 +242,21 @@ public class QueryExecutionContext extends ExecutionContext {
   public boolean hasMultiHints() {
     return hints != null && hints.size() > 1;
   }
+
+  /**
+   * Waits at most once per query for the pending updates of each region or bucket, however many
+   * times the query looks up its indexes.
+   */
+  @Override
+  public void waitForPendingIndexUpdates(IndexManager indexManager) {
+    if (indexManager == null) {
+      return;
+    }
+    if (waitedIndexManagers == null) {
+      waitedIndexManagers = new HashSet<IndexManager>();
+    }
+    if (waitedIndexManagers.add(indexManager)) {
+      indexManager.waitForPendingUpdatesBeforeQuery();
+    }
+  }
 }
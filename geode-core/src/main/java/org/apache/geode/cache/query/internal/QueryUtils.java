@@ -1642,9 +1642,11 @@ public class QueryUtils {
     }
 
     for (Object b : context.getBucketList()) {
-      i0 = (pr0 != null) ? PartitionedIndex.getBucketIndex(pr0, index0.getName(), (Integer) b)
+      i0 = (pr0 != null)
+          ? PartitionedIndex.getBucketIndex(pr0, index0.getName(), (Integer) b, context)
           : indxInfo[0]._index;
-      i1 = (pr1 != null) ? PartitionedIndex.getBucketIndex(pr1, index1.getName(), (Integer) b)
+      i1 = (pr1 != null)
+          ? PartitionedIndex.getBucketIndex(pr1, index1.getName(), (Integer) b, context)
           : indxInfo[1]._index;
 
       if (i0 == null || i1 == null) {
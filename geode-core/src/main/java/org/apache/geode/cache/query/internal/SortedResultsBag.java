@@ -40,6 +40,8 @@ public class SortedResultsBag<E> extends Bag implements Ordered {
   private final Map<E, Integer> sortedMap;
   private final boolean orderedDataAddition;
   private final boolean emitNullAtStart;
+  /** the most elements kept, or -1 if unbounded */
+  private int maxSize = -1;
 
   /**
    * Constructor for unordered input
@@ -150,6 +152,57 @@ public class SortedResultsBag<E> extends Bag implements Ordered {
     return false;
   }
 
+  /**
+   * Bounds this bag to the given number of elements, for a query with a LIMIT. Whenever an addition
+   * takes the bag over the bound, its last element in sort order is dropped, so the bag holds the
+   * first maxSize elements of everything added without holding all of it. Ignored for bags of
+   * already ordered data.
+   */
+  void setMaxSize(int maxSize) {
+    if (!this.orderedDataAddition) {
+      this.maxSize = maxSize;
+    }
+  }
+
+  @Override
+  public boolean add(Object element) {
+    boolean added = super.add(element);
+    trimToMaxSize();
+    return added;
+  }
+
+  @Override
+  public int addAndGetOccurence(Object element) {
+    int occurence = super.addAndGetOccurence(element);
+    trimToMaxSize();
+    return occurence;
+  }
+
+  private void trimToMaxSize() {
+    if (this.maxSize < 0) {
+      return;
+    }
+    while (this.size > this.maxSize) {
+      if (this.numNulls > 0 && (!this.emitNullAtStart || this.sortedMap.isEmpty())) {
+        // nulls are emitted last
+        this.numNulls--;
+      } else {
+        Map.Entry<E, Integer> last = ((TreeMap<E, Integer>) this.sortedMap).lastEntry();
+        int count = last.getValue();
+        if (count > 1) {
+          this.sortedMap.put(last.getKey(), count - 1);
+        } else {
+          this.sortedMap.remove(last.getKey());
+          Comparator comparator = comparator();
+          if (comparator instanceof OrderByComparator) {
+            ((OrderByComparator) comparator).removeEvaluatedSortCriteria(last.getKey());
+          }
+        }
+      }
+      this.size--;
+    }
+  }
+
   @Override
   protected int mapGet(Object element) {
     Integer count = this.sortedMap.get(element);
@@ -252,7 +252,8 @@ public abstract class AbstractIndex implements IndexProtocol {
       long start = updateIndexUseStats();
       try {
         for (Object b : context.getBucketList()) {
-          AbstractIndex i = PartitionedIndex.getBucketIndex(pr, this.indexName, (Integer) b);
+          AbstractIndex i =
+              PartitionedIndex.getBucketIndex(pr, this.indexName, (Integer) b, context);
           if (i == null) {
             continue;
           }
@@ -283,7 +284,8 @@ public abstract class AbstractIndex implements IndexProtocol {
       long start = updateIndexUseStats();
       try {
         for (Object b : context.getBucketList()) {
-          AbstractIndex i = PartitionedIndex.getBucketIndex(pr, this.indexName, (Integer) b);
+          AbstractIndex i =
+              PartitionedIndex.getBucketIndex(pr, this.indexName, (Integer) b, context);
           if (i == null) {
             continue;
           }
@@ -314,7 +316,8 @@ public abstract class AbstractIndex implements IndexProtocol {
       long start = updateIndexUseStats();
       try {
         for (Object b : context.getBucketList()) {
-          AbstractIndex i = PartitionedIndex.getBucketIndex(pr, this.indexName, (Integer) b);
+          AbstractIndex i =
+              PartitionedIndex.getBucketIndex(pr, this.indexName, (Integer) b, context);
           if (i == null) {
             continue;
           }
@@ -345,7 +348,8 @@ public abstract class AbstractIndex implements IndexProtocol {
       try {
         PartitionedRegion pr = ((BucketRegion) region).getPartitionedRegion();
         for (Object b : context.getBucketList()) {
-          AbstractIndex i = PartitionedIndex.getBucketIndex(pr, this.indexName, (Integer) b);
+          AbstractIndex i =
+              PartitionedIndex.getBucketIndex(pr, this.indexName, (Integer) b, context);
           if (i == null) {
             continue;
           }
@@ -377,7 +381,8 @@ public abstract class AbstractIndex implements IndexProtocol {
         long start = updateIndexUseStats();
         try {
           for (Object b : context.getBucketList()) {
-            AbstractIndex i = PartitionedIndex.getBucketIndex(pr, this.indexName, (Integer) b);
+            AbstractIndex i =
+                PartitionedIndex.getBucketIndex(pr, this.indexName, (Integer) b, context);
             if (i == null) {
               continue;
             }
@@ -857,6 +862,10 @@ public abstract class AbstractIndex implements IndexProtocol {
       return 0;
     }
 
+    public int getNumberOfBucketIndexesPopulating() {
+      return 0;
+    }
+
     public void close() {}
 
     public void incNumValues(int delta) {}
@@ -884,6 +893,8 @@ public abstract class AbstractIndex implements IndexProtocol {
     public void incReadLockCount(int delta) {}
 
     public void incNumBucketIndexes(int delta) {}
+
+    public void incBucketIndexesPopulating(int delta) {}
   }
 
   /**
@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.geode.cache.EntryDestroyedException;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.CachedDeserializable;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.cache.Token;
+import org.apache.geode.pdx.PdxInstance;
+
+/**
+ * A columnar index of numeric PDX fields of the values of a region, or of a bucket of a partitioned
+ * region. Each field is kept in an array of primitives with one slot per entry, so that aggregates
+ * and range filters over the fields can scan the arrays instead of reading every value.
+ * <p>
+ * The fields are chosen per region with the {@link #COLUMNAR_FIELDS_PROPERTY} system property, for
+ * example <code>/orders:price,quantity;/trades:amount</code>, and given to the
+ * {@link IndexManager} of the region when it is created. The store is kept up to date by the index
+ * manager along with its indexes.
+ * <p>
+ * The store can only answer for the region if the value of every entry is a PdxInstance with all
+ * the fields, each holding a number of the same type as in the other entries. While some entry
+ * doesn't, {@link #isComplete()} returns false and queries have to read the values.
+ *
+ * @since Geode 1.1
+ */
+public class ColumnStore {
+
+  /**
+   * System property listing the PDX fields to keep in columns, as
+   * <code>regionPath:field,field;regionPath:field</code>
+   */
+  public static final String COLUMNAR_FIELDS_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "index.columnarFields";
+
+  /** The parsed {@link #COLUMNAR_FIELDS_PROPERTY} */
+  private static final Map<String, String[]> COLUMNAR_FIELDS =
+      parseColumnarFields(System.getProperty(COLUMNAR_FIELDS_PROPERTY));
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final Region region;
+
+  private final String[] fieldNames;
+
+  /** the boxed type of the values of each column, null until the first value is added */
+  private final Class[] valueTypes;
+
+  /** the values of each column; floating point values are stored as their raw long bits */
+  private final long[][] columns;
+
+  private final Map<Object, Integer> slots = new HashMap<Object, Integer>();
+
+  private final BitSet liveSlots = new BitSet();
+
+  private int[] freeSlots = new int[16];
+
+  private int numFreeSlots;
+
+  private int nextSlot;
+
+  /** keys of the entries whose values can't be kept in the columns */
+  private final Set<Object> unsupportedKeys = new HashSet<Object>();
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  ColumnStore(Region region, String[] fieldNames) {
+    this.region = region;
+    this.fieldNames = fieldNames;
+    this.valueTypes = new Class[fieldNames.length];
+    this.columns = new long[fieldNames.length][INITIAL_CAPACITY];
+  }
+
+  /**
+   * Parses the value of {@link #COLUMNAR_FIELDS_PROPERTY} into a map of region path to field names
+   */
+  static Map<String, String[]> parseColumnarFields(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<String, String[]> result = new HashMap<String, String[]>();
+    for (String regionFields : value.split(";")) {
+      int separator = regionFields.lastIndexOf(':');
+      if (separator <= 0) {
+        continue;
+      }
+      String path = regionFields.substring(0, separator).trim();
+      if (!path.startsWith(Region.SEPARATOR)) {
+        path = Region.SEPARATOR + path;
+      }
+      Set<String> fields = new LinkedHashSet<String>();
+      for (String field : regionFields.substring(separator + 1).split(",")) {
+        if (!field.trim().isEmpty()) {
+          fields.add(field.trim());
+        }
+      }
+      if (!fields.isEmpty()) {
+        result.put(path, fields.toArray(new String[fields.size()]));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the fields configured with {@link #COLUMNAR_FIELDS_PROPERTY} to be kept in columns for
+   * the given region, or null if there are none. Bucket regions use the fields of their partitioned
+   * region.
+   */
+  public static String[] getColumnarFields(Region region) {
+    if (COLUMNAR_FIELDS.isEmpty()) {
+      return null;
+    }
+    String path = region instanceof BucketRegion
+        ? ((BucketRegion) region).getPartitionedRegion().getFullPath() : region.getFullPath();
+    return COLUMNAR_FIELDS.get(path);
+  }
+
+  /**
+   * Returns the column of the given field, or -1 if the field isn't kept in a column
+   */
+  public int getColumn(String fieldName) {
+    for (int i = 0; i < this.fieldNames.length; i++) {
+      if (this.fieldNames[i].equals(fieldName)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The lock to hold while reading the columns, so that they don't change during a scan
+   */
+  public Lock readLock() {
+    return this.lock.readLock();
+  }
+
+  /**
+   * Returns true if the columns hold the fields of every entry of the region. The caller must hold
+   * the read lock.
+   */
+  public boolean isComplete() {
+    return this.unsupportedKeys.isEmpty();
+  }
+
+  /**
+   * Returns the slots of the entries in the columns. The caller must hold the read lock.
+   */
+  public BitSet getLiveSlots() {
+    return (BitSet) this.liveSlots.clone();
+  }
+
+  /**
+   * Clears the given slots whose value in the column doesn't compare to the bound with the given
+   * operator. Returns false, leaving the slots as they are, if the bound isn't a number the column
+   * can be compared with. The caller must hold the read lock.
+   */
+  public boolean filter(BitSet slots, int column, int operator, Object bound) {
+    Class valueType = this.valueTypes[column];
+    if (valueType == null) {
+      // no values yet
+      slots.clear();
+      return true;
+    }
+    if (!isIntegral(bound.getClass()) && !isFloatingPoint(bound.getClass())) {
+      return false;
+    }
+    long[] values = this.columns[column];
+    if (isFloatingPoint(valueType) || isFloatingPoint(bound.getClass())) {
+      boolean floatingColumn = isFloatingPoint(valueType);
+      double doubleBound = ((Number) bound).doubleValue();
+      for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+        double value =
+            floatingColumn ? Double.longBitsToDouble(values[slot]) : (double) values[slot];
+        if (!matches(Double.compare(value, doubleBound), operator)) {
+          slots.clear(slot);
+        }
+      }
+    } else {
+      long longBound = ((Number) bound).longValue();
+      for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+        if (!matches(Long.compare(values[slot], longBound), operator)) {
+          slots.clear(slot);
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean matches(int comparison, int operator) {
+    switch (operator) {
+      case OQLLexerTokenTypes.TOK_EQ:
+        return comparison == 0;
+      case OQLLexerTokenTypes.TOK_NE:
+      case OQLLexerTokenTypes.TOK_NE_ALT:
+        return comparison != 0;
+      case OQLLexerTokenTypes.TOK_LT:
+        return comparison < 0;
+      case OQLLexerTokenTypes.TOK_LE:
+        return comparison <= 0;
+      case OQLLexerTokenTypes.TOK_GT:
+        return comparison > 0;
+      case OQLLexerTokenTypes.TOK_GE:
+        return comparison >= 0;
+      default:
+        throw new IllegalArgumentException("Unknown operator " + operator);
+    }
+  }
+
+  /**
+   * Returns the value of the column in the given slot, boxed as it is in the PDX value. The caller
+   * must hold the read lock.
+   */
+  public Object getValue(int column, int slot) {
+    long value = this.columns[column][slot];
+    Class valueType = this.valueTypes[column];
+    if (valueType == Integer.class) {
+      return Integer.valueOf((int) value);
+    } else if (valueType == Long.class) {
+      return Long.valueOf(value);
+    } else if (valueType == Double.class) {
+      return Double.valueOf(Double.longBitsToDouble(value));
+    } else if (valueType == Float.class) {
+      return Float.valueOf((float) Double.longBitsToDouble(value));
+    } else if (valueType == Short.class) {
+      return Short.valueOf((short) value);
+    } else {
+      return Byte.valueOf((byte) value);
+    }
+  }
+
+  /**
+   * Update the columns with the current value of the entry
+   */
+  void entryUpdated(RegionEntry entry) {
+    update(entry.getKey(), getValue(entry));
+  }
+
+  /**
+   * Remove the entry from the columns
+   */
+  void entryRemoved(RegionEntry entry) {
+    update(entry.getKey(), null);
+  }
+
+  void clear() {
+    this.lock.writeLock().lock();
+    try {
+      this.slots.clear();
+      this.liveSlots.clear();
+      this.unsupportedKeys.clear();
+      Arrays.fill(this.valueTypes, null);
+      this.numFreeSlots = 0;
+      this.nextSlot = 0;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  private Object getValue(RegionEntry entry) {
+    try {
+      Object value = entry.getValue((LocalRegion) this.region);
+      if (value == null || Token.isInvalidOrRemoved(value)) {
+        return null;
+      }
+      if (value instanceof CachedDeserializable) {
+        value = ((CachedDeserializable) value).getDeserializedValue(this.region, entry);
+      }
+      return value;
+    } catch (EntryDestroyedException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Update the columns with a new value for the key, or remove the key if the value is null
+   */
+  void update(Object key, Object value) {
+    Object[] fieldValues = null;
+    if (value instanceof PdxInstance) {
+      PdxInstance pdx = (PdxInstance) value;
+      fieldValues = new Object[this.fieldNames.length];
+      for (int i = 0; i < this.fieldNames.length; i++) {
+        fieldValues[i] = pdx.getField(this.fieldNames[i]);
+      }
+    }
+    this.lock.writeLock().lock();
+    try {
+      if (value == null) {
+        removeSlot(key);
+        this.unsupportedKeys.remove(key);
+      } else if (fieldValues == null || !isSupported(fieldValues)) {
+        removeSlot(key);
+        this.unsupportedKeys.add(key);
+      } else {
+        this.unsupportedKeys.remove(key);
+        Integer slot = this.slots.get(key);
+        if (slot == null) {
+          slot = allocateSlot();
+          this.slots.put(key, slot);
+        }
+        for (int i = 0; i < fieldValues.length; i++) {
+          Number number = (Number) fieldValues[i];
+          this.columns[i][slot] = isFloatingPoint(number.getClass())
+              ? Double.doubleToRawLongBits(number.doubleValue()) : number.longValue();
+        }
+      }
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  private boolean isSupported(Object[] fieldValues) {
+    for (int i = 0; i < fieldValues.length; i++) {
+      Object fieldValue = fieldValues[i];
+      if (fieldValue == null) {
+        return false;
+      }
+      Class type = fieldValue.getClass();
+      if (this.valueTypes[i] == null) {
+        if (!isIntegral(type) && !isFloatingPoint(type)) {
+          return false;
+        }
+      } else if (this.valueTypes[i] != type) {
+        return false;
+      }
+    }
+    for (int i = 0; i < fieldValues.length; i++) {
+      if (this.valueTypes[i] == null) {
+        this.valueTypes[i] = fieldValues[i].getClass();
+      }
+    }
+    return true;
+  }
+
+  private static boolean isIntegral(Class type) {
+    return type == Integer.class || type == Long.class || type == Short.class
+        || type == Byte.class;
+  }
+
+  private static boolean isFloatingPoint(Class type) {
+    return type == Double.class || type == Float.class;
+  }
+
+  private int allocateSlot() {
+    int slot;
+    if (this.numFreeSlots > 0) {
+      slot = this.freeSlots[--this.numFreeSlots];
+    } else {
+      slot = this.nextSlot++;
+      if (slot == this.columns[0].length) {
+        for (int i = 0; i < this.columns.length; i++) {
+          this.columns[i] = Arrays.copyOf(this.columns[i], slot * 2);
+        }
+      }
+    }
+    this.liveSlots.set(slot);
+    return slot;
+  }
+
+  private void removeSlot(Object key) {
+    Integer slot = this.slots.remove(key);
+    if (slot != null) {
+      this.liveSlots.clear(slot);
+      if (this.numFreeSlots == this.freeSlots.length) {
+        this.freeSlots = Arrays.copyOf(this.freeSlots, this.numFreeSlots * 2);
+      }
+      this.freeSlots[this.numFreeSlots++] = slot;
+    }
+  }
+}
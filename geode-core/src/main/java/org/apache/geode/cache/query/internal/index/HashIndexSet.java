@@ -32,6 +32,7 @@ import java.util.Set;
 import org.apache.geode.cache.query.TypeMismatchException;
 import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
 import org.apache.geode.cache.query.internal.types.TypeUtils;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.cache.CachePerfStats;
 import org.apache.geode.pdx.internal.PdxString;
 
@@ -49,6 +50,11 @@ public class HashIndexSet implements Set {
   final class HashIndexSetProperties {
     /** the set of Objects */
     final protected transient Object[] set;
+    /**
+     * the hash of the index key each object was added with, or null unless
+     * {@link #storeKeyHashes}
+     */
+    final protected transient int[] hashes;
     /** used for hashing into the table **/
     final protected int mask;
 
@@ -78,10 +84,25 @@ public class HashIndexSet implements Set {
 
     public HashIndexSetProperties(final Object[] set, final int mask) {
       this.set = set;
+      this.hashes = storeKeyHashes ? new int[set.length] : null;
       this.mask = mask;
     }
   }
 
+  /**
+   * Whether index sets store the hash of the index key of each object by default. Off by default
+   * because it costs 4 bytes per slot, about 8 bytes per indexed object with the default load
+   * factor.
+   */
+  static final boolean STORE_KEY_HASHES =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "index.hashIndexStoreKeyHashes");
+
+  /**
+   * Whether the hash of the index key of each object is stored, so that equality probes can skip
+   * colliding objects and rehashing can place objects without evaluating their index keys
+   */
+  private final boolean storeKeyHashes;
+
   private transient CachePerfStats cacheStats;
 
   /** the load above which rehashing occurs. */
@@ -113,8 +134,14 @@ public class HashIndexSet implements Set {
    */
 
   public HashIndexSet() {
-    this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    this(STORE_KEY_HASHES);
+  }
 
+  /**
+   * @param storeKeyHashes whether to store the hash of the index key of each object
+   */
+  HashIndexSet(boolean storeKeyHashes) {
+    this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, storeKeyHashes);
   }
 
   /**
@@ -123,8 +150,10 @@ public class HashIndexSet implements Set {
    * 
    * @param initialCapacity an <code>int</code> value
    * @param loadFactor a <code>float</code> value
+   * @param storeKeyHashes whether to store the hash of the index key of each object
    */
-  private HashIndexSet(int initialCapacity, float loadFactor) {
+  private HashIndexSet(int initialCapacity, float loadFactor, boolean storeKeyHashes) {
+    this.storeKeyHashes = storeKeyHashes;
     setUp(initialCapacity, loadFactor);
   }
 
@@ -282,9 +311,13 @@ public class HashIndexSet implements Set {
     // grow/shrink capacity if needed
     preInsertHook();
     HashIndexSetProperties metaData = hashIndexSetProperties;
-    int indexSlot = insertionIndex(indexKey, metaData);
+    int hash = computeHash(indexKey);
+    int indexSlot = insertionIndex(hash, metaData);
 
     Object old = metaData.set[indexSlot];
+    if (metaData.hashes != null) {
+      metaData.hashes[indexSlot] = hash;
+    }
     addObjectToSet(metaData.set, indexSlot, obj);
     hashIndexSetProperties = metaData;
     // only call this now if we are adding to an actual empty slot, otherwise we
@@ -304,12 +337,14 @@ public class HashIndexSet implements Set {
    * @return the index of an open or resused position
    */
   protected int insertionIndex(Object indexKey, HashIndexSetProperties metaData) {
-    int hash;
+    return insertionIndex(computeHash(indexKey), metaData);
+  }
+
+  private int insertionIndex(int hash, HashIndexSetProperties metaData) {
     int pos;
     int mask = metaData.mask;
     Object curr;
     final Object[] array = metaData.set;
-    hash = computeHash(indexKey);
 
     long start = -1L;
     if (this.cacheStats != null) {
@@ -373,6 +408,7 @@ public class HashIndexSet implements Set {
       Thread.yield();
     }
     Object[] oldSet = metaData.set;
+    int[] oldHashes = metaData.hashes;
     int oldCapacity = oldSet.length;
 
 
@@ -389,13 +425,22 @@ public class HashIndexSet implements Set {
     for (int i = oldCapacity; i-- > 0;) {
       if (oldSet[i] != null && oldSet[i] != REMOVED) {
         Object o = oldSet[i];
-
-        Object key = _imqEvaluator.evaluateKey(o);
-        if (key == null) {
-          key = IndexManager.NULL;
+        int hash;
+        if (oldHashes != null) {
+          // the hash of the key the object was added with, rather than evaluating the key again
+          hash = oldHashes[i];
+        } else {
+          Object key = _imqEvaluator.evaluateKey(o);
+          if (key == null) {
+            key = IndexManager.NULL;
+          }
+          hash = computeHash(key);
         }
-        int index = insertionIndex(key, newHashIndexProperties);
+        int index = insertionIndex(hash, newHashIndexProperties);
         if (index >= 0) {
+          if (newHashIndexProperties.hashes != null) {
+            newHashIndexProperties.hashes[index] = hash;
+          }
           addObjectToSet(newHashIndexProperties.set, index, o);
         }
       }
@@ -687,6 +732,7 @@ public class HashIndexSet implements Set {
     private Object keyToMatch;
     // objects at time of iterator creation
     private final Object[] objects;
+    private final int[] hashes;
     private int pos;
     private int prevPos;
     private Collection keysToRemove;
@@ -700,12 +746,14 @@ public class HashIndexSet implements Set {
       this.pos = 0;
       this.prevPos = 0;
       this.objects = metaData.set;
+      this.hashes = metaData.hashes;
       current = objects[pos];
     }
 
     private HashIndexSetIterator(Object keyToMatch, HashIndexSetProperties metaData) {
       this.keyToMatch = keyToMatch;
       this.objects = metaData.set;
+      this.hashes = metaData.hashes;
       mask = metaData.mask;
       hash = computeHash(keyToMatch);
       pos = (it.unimi.dsi.fastutil.HashCommon.mix(hash)) & mask;
@@ -736,7 +784,8 @@ public class HashIndexSet implements Set {
         current = objects[pos];
         // For Equals query
         while (current != null) {
-          if (current != REMOVED) {
+          // only evaluate the key of objects added with a key of the same hash
+          if (current != REMOVED && (hashes == null || hashes[pos] == hash)) {
             if (objectMatchesIndexKey(keyToMatch, current)) {
               return true;
             }
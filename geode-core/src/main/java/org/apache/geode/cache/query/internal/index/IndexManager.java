@@ -35,6 +35,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -65,13 +66,39 @@ public class IndexManager {
   private final ConcurrentMap indexes = new ConcurrentHashMap();
   // TODO Asif : Fix the appropriate size of the Map & the concurrency level
   private ConcurrentMap canonicalizedIteratorNameMap = new ConcurrentHashMap();
-  private IndexUpdaterThread updater;
+  private IndexUpdaterThread[] updaters;
+
+  /** the PDX fields of the values of this region to keep in a ColumnStore, or null for none */
+  private final String[] columnarFields;
+
+  /** the columnar index of the {@link #columnarFields}, created by the first query */
+  private volatile ColumnStore columnStore;
+  private final Object columnStoreLock = new Object();
 
   // Threshold for Queue.
   private final int INDEX_MAINTENANCE_BUFFER =
       Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "AsynchIndexMaintenanceThreshold", -1)
           .intValue();
 
+  /**
+   * The number of threads applying index updates for a region with asynchronous index maintenance.
+   * The updates of an entry are always applied by the same thread, in order.
+   */
+  private static final int INDEX_MAINTENANCE_THREADS = Math.max(1,
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "AsynchIndexMaintenanceThreads", 1));
+
+  /** The most queued index updates an updater thread takes and applies at once */
+  private static final int INDEX_MAINTENANCE_BATCH_SIZE = Math.max(1, Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "AsynchIndexMaintenanceBatchSize", 100));
+
+  /**
+   * The most milliseconds a query waits, before using the indexes of a region with asynchronous
+   * index maintenance, for the index updates queued before it started to be applied. 0, the
+   * default, does not wait and lets queries see the indexes as they are.
+   */
+  private static final long INDEX_MAINTENANCE_QUERY_WAIT = Long
+      .getLong(DistributionConfig.GEMFIRE_PREFIX + "AsynchIndexMaintenanceQueryWait", 0);
+
   public static boolean JOIN_OPTIMIZATION =
       !Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "index.DisableJoinOptimization");
 
@@ -124,7 +151,16 @@ public class IndexManager {
   // there should be a read/write lock PER INDEX in order to maximize
   // the concurrency of query execution.
   public IndexManager(Region region) {
+    this(region, ColumnStore.getColumnarFields(region));
+  }
+
+  /**
+   * @param columnarFields the PDX fields of the values of the region to keep in a
+   *        {@link ColumnStore}, or null for none
+   */
+  public IndexManager(Region region, String[] columnarFields) {
     this.region = region;
+    this.columnarFields = columnarFields;
     // must be a SortedMap to ensure the indexes are iterated over in fixed
     // order
     // to avoid deadlocks when acquiring locks
@@ -136,9 +172,15 @@ public class IndexManager {
     if (!indexMaintenanceSynchronous) {
       final LoggingThreadGroup group =
           LoggingThreadGroup.createThreadGroup("QueryMonitor Thread Group", logger);
-      updater = new IndexUpdaterThread(group, this.INDEX_MAINTENANCE_BUFFER,
-          "OqlIndexUpdater:" + region.getFullPath());
-      updater.start();
+      updaters = new IndexUpdaterThread[INDEX_MAINTENANCE_THREADS];
+      for (int i = 0; i < updaters.length; i++) {
+        String threadName = "OqlIndexUpdater:" + region.getFullPath();
+        if (updaters.length > 1) {
+          threadName += ":" + i;
+        }
+        updaters[i] = new IndexUpdaterThread(group, this.INDEX_MAINTENANCE_BUFFER, threadName);
+        updaters[i].start();
+      }
     }
   }
 
@@ -224,7 +266,58 @@ public class IndexManager {
    * Used by tests to access the updater thread to determine its progress
    */
   public IndexUpdaterThread getUpdaterThread() {
-    return this.updater;
+    return this.updaters == null ? null : this.updaters[0];
+  }
+
+  /**
+   * Waits until the index updates queued for asynchronous maintenance before this call have been
+   * applied. Returns immediately for synchronous index maintenance.
+   * 
+   * @param timeout the most milliseconds to wait
+   * @return true if the updates have been applied, false if the timeout elapsed first
+   */
+  public boolean waitForPendingUpdates(long timeout) throws InterruptedException {
+    if (isIndexMaintenanceTypeSynchronous()) {
+      return true;
+    }
+    long[] queued = new long[this.updaters.length];
+    for (int i = 0; i < queued.length; i++) {
+      queued[i] = this.updaters[i].getQueuedTaskCount();
+    }
+    long deadline = System.currentTimeMillis() + timeout;
+    for (int i = 0; i < queued.length; i++) {
+      if (!this.updaters[i].waitForAppliedTasks(queued[i], deadline)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gives a query about to use the indexes of this region the read-your-writes consistency
+   * configured with the AsynchIndexMaintenanceQueryWait system property. Queries call this through
+   * {@link ExecutionContext#waitForPendingIndexUpdates} so that they wait once per region.
+   */
+  public void waitForPendingUpdatesBeforeQuery() {
+    if (INDEX_MAINTENANCE_QUERY_WAIT <= 0 || isIndexMaintenanceTypeSynchronous()) {
+      return;
+    }
+    try {
+      if (!waitForPendingUpdates(INDEX_MAINTENANCE_QUERY_WAIT) && logger.isDebugEnabled()) {
+        logger.debug("Querying indexes of {} with index updates still pending",
+            this.region.getFullPath());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private IndexUpdaterThread getUpdaterThread(RegionEntry entry) {
+    if (entry == null || this.updaters.length == 1) {
+      return this.updaters[0];
+    }
+    int hash = System.identityHashCode(entry) & 0x7fffffff;
+    return this.updaters[hash % this.updaters.length];
   }
 
   // @todo need more specific list of exceptions
@@ -877,7 +970,93 @@ public class IndexManager {
       recreateAllIndexesForRegion();
     } else {
       // System.out.println("Aynchronous update");
-      updater.addTask(RECREATE_INDEX, null, IndexProtocol.OTHER_OP);
+      RecreateIndexesTask recreate = new RecreateIndexesTask(this.updaters.length);
+      // queued under a lock so that every updater sees concurrent recreates in the same order
+      synchronized (this.updaters) {
+        for (IndexUpdaterThread updater : this.updaters) {
+          updater.addRecreateTask(recreate);
+        }
+      }
+    }
+  }
+
+  /**
+   * A RECREATE_INDEX task queued to every updater thread. Each updater stops when it reaches the
+   * task, and the last one to reach it recreates the indexes, so that the updates queued before the
+   * task are all applied before the indexes are recreated, and none queued after it are applied
+   * until they have been.
+   */
+  private class RecreateIndexesTask {
+    /** the number of updater threads still to reach the task */
+    private final AtomicInteger remaining;
+
+    private final CountDownLatch recreated = new CountDownLatch(1);
+
+    RecreateIndexesTask(int updaterCount) {
+      this.remaining = new AtomicInteger(updaterCount);
+    }
+
+    void apply() throws InterruptedException {
+      if (this.remaining.decrementAndGet() == 0) {
+        try {
+          recreateAllIndexesForRegion();
+        } finally {
+          this.recreated.countDown();
+        }
+      } else {
+        this.recreated.await();
+      }
+    }
+  }
+
+  /**
+   * Returns the columnar index of the PDX fields this index manager was created with, or null if
+   * there are none. The index is created and populated on the first call, blocking updates to the
+   * region meanwhile.
+   */
+  public ColumnStore getColumnStore() {
+    ColumnStore store = this.columnStore;
+    if (store != null) {
+      return store;
+    }
+    String[] fields = this.columnarFields;
+    if (fields == null) {
+      return null;
+    }
+    synchronized (this.columnStoreLock) {
+      store = this.columnStore;
+      if (store == null) {
+        store = new ColumnStore(this.region, fields);
+        waitBeforeUpdate();
+        try {
+          populateColumnStore(store);
+          this.columnStore = store;
+        } finally {
+          notifyAfterUpdate();
+        }
+      }
+    }
+    return store;
+  }
+
+  /**
+   * Fills the columns with the entries of the region. Updates must be blocked while doing so.
+   */
+  private void populateColumnStore(ColumnStore store) {
+    boolean oldReadSerialized = DefaultQuery.getPdxReadSerialized();
+    DefaultQuery.setPdxReadSerialized(this.region.getCache(), true);
+    try {
+      store.clear();
+      Iterator entryIter = ((LocalRegion) region).getBestIterator(true);
+      while (entryIter.hasNext()) {
+        RegionEntry entry = (RegionEntry) entryIter.next();
+        if (entry == null || entry.isInvalidOrRemoved()) {
+          continue;
+        }
+        store.entryUpdated(entry);
+      }
+    } finally {
+      DefaultQuery.setPdxReadSerialized(this.region.getCache(), oldReadSerialized);
     }
   }
 
@@ -978,7 +1157,7 @@ public class IndexManager {
       processAction(entry, action, opCode);
     } else {
       // System.out.println("Aynchronous update");
-      updater.addTask(action, entry, opCode);
+      getUpdaterThread(entry).addTask(action, entry, opCode);
     }
   }
 
@@ -1132,6 +1311,15 @@ public class IndexManager {
               LocalizedStrings.IndexManager_INVALID_ACTION.toLocalizedString());
         }
       }
+      ColumnStore store = this.columnStore;
+      if (store != null) {
+        if (action != REMOVE_ENTRY) {
+          store.entryUpdated(entry);
+        } else if (opCode != IndexProtocol.BEFORE_UPDATE_OP) {
+          // a removal before an update is followed by the update
+          store.entryRemoved(entry);
+        }
+      }
     } finally {
       DefaultQuery.setPdxReadSerialized(this.region.getCache(), false);
       if (tx != null) {
@@ -1209,6 +1397,9 @@ public class IndexManager {
 
         }
       }
+      if (this.columnStore != null) {
+        populateColumnStore(this.columnStore);
+      }
     } catch (Exception e) {
       throw new IndexInvalidException(e);
     } finally {
@@ -1268,8 +1459,12 @@ public class IndexManager {
    */
   public void destroy() throws QueryException {
     this.indexes.clear();
-    if (!isIndexMaintenanceTypeSynchronous())
-      updater.shutdown();
+    this.columnStore = null;
+    if (!isIndexMaintenanceTypeSynchronous()) {
+      for (IndexUpdaterThread updater : this.updaters) {
+        updater.shutdown();
+      }
+    }
   }
 
   /**
@@ -1379,6 +1574,14 @@ public class IndexManager {
 
     private volatile BlockingQueue pendingTasks;
 
+    /** the number of tasks added to the queue */
+    private final AtomicLong queuedTasks = new AtomicLong();
+
+    /** the number of tasks taken from the queue and applied, guarded by appliedTasksLock */
+    private long appliedTasks = 0;
+
+    private final Object appliedTasksLock = new Object();
+
     /**
      * Creates instance of IndexUpdaterThread
      * 
@@ -1404,6 +1607,39 @@ public class IndexManager {
       task[1] = entry;
       task[2] = Integer.valueOf(opCode); // !!!:ezoerner:20081029 change to valueOf jdk 1.5+
       pendingTasks.add(task);
+      queuedTasks.incrementAndGet();
+    }
+
+    void addRecreateTask(RecreateIndexesTask recreate) {
+      Object[] task = new Object[4];
+      task[0] = Integer.valueOf(RECREATE_INDEX);
+      task[2] = Integer.valueOf(IndexProtocol.OTHER_OP);
+      task[3] = recreate;
+      pendingTasks.add(task);
+      queuedTasks.incrementAndGet();
+    }
+
+    long getQueuedTaskCount() {
+      return this.queuedTasks.get();
+    }
+
+    /**
+     * Waits until the given number of tasks have been applied, or the deadline has passed, or this
+     * thread has stopped.
+     * 
+     * @return true if the tasks have been applied
+     */
+    boolean waitForAppliedTasks(long count, long deadline) throws InterruptedException {
+      synchronized (this.appliedTasksLock) {
+        while (this.appliedTasks < count) {
+          long remaining = deadline - System.currentTimeMillis();
+          if (!this.running || remaining <= 0) {
+            return false;
+          }
+          this.appliedTasksLock.wait(remaining);
+        }
+      }
+      return true;
     }
 
     /**
@@ -1428,6 +1664,7 @@ public class IndexManager {
       // async writers main loop
       // logger.debug("DiskRegion writer started (writer=" + this + ")");
       org.apache.geode.CancelCriterion stopper = ((LocalRegion) region).getCancelCriterion();
+      List<Object[]> batch = new ArrayList<Object[]>();
       try {
         while (!this.shutdownRequested) {
           // Termination checks
@@ -1436,17 +1673,28 @@ public class IndexManager {
             break;
           }
           try {
-            Object[] task = (Object[]) pendingTasks.take();
+            batch.add((Object[]) pendingTasks.take());
             if (this.shutdownRequested) {
               break;
             }
-            updateIndexes(task);
+            pendingTasks.drainTo(batch, INDEX_MAINTENANCE_BATCH_SIZE - 1);
+            for (Object[] task : coalesceTasks(batch)) {
+              updateIndexes(task);
+            }
+            synchronized (this.appliedTasksLock) {
+              this.appliedTasks += batch.size();
+              this.appliedTasksLock.notifyAll();
+            }
+            batch.clear();
           } catch (InterruptedException ignore) {
             return; // give up (exit the thread)
           }
         }
       } finally {
         this.running = false;
+        synchronized (this.appliedTasksLock) {
+          this.appliedTasksLock.notifyAll();
+        }
       }
     }
 
@@ -1458,13 +1706,16 @@ public class IndexManager {
       if (entry != null || action == RECREATE_INDEX) {
         try {
           if (action == RECREATE_INDEX) {
-            recreateAllIndexesForRegion();
+            ((RecreateIndexesTask) task[3]).apply();
           } else {
             if (entry != null) {
               entry.setUpdateInProgress(true);
             }
             processAction(entry, action, opCode);
           }
+        } catch (InterruptedException e) {
+          // shutting down; the next take from the queue ends the thread
+          Thread.currentThread().interrupt();
         } catch (Exception e) {
           e.printStackTrace();
         } finally {
@@ -1476,16 +1727,64 @@ public class IndexManager {
     }
 
     /**
-     * Used by tests to determine if the updater thread has finished updating its indexes. The list
-     * is cleared without synchronization, which makes this methods somewhat unsafe from a threading
-     * point of view.
+     * Used by tests to determine if the updater thread has finished updating its indexes.
      */
-    public synchronized boolean isDone() {
-      return this.pendingTasks.size() == 0;
+    public boolean isDone() {
+      synchronized (this.appliedTasksLock) {
+        return this.appliedTasks >= this.queuedTasks.get();
+      }
     }
 
   }
 
+  /**
+   * Returns the tasks of a batch taken from an updater thread's queue that need to be applied, in
+   * order. Every task reads the current value of its entry, so an update of an entry, with the
+   * removal before the update that precedes it, can be skipped when the same batch updates the
+   * entry again later.
+   */
+  static List<Object[]> coalesceTasks(List<Object[]> batch) {
+    // entries updated later in the batch, mapped to whether the removal before their skipped
+    // update is still to be skipped
+    Map<RegionEntry, Boolean> updatedLater = new IdentityHashMap<RegionEntry, Boolean>();
+    boolean[] skip = new boolean[batch.size()];
+    int skipped = 0;
+    for (int i = batch.size() - 1; i >= 0; i--) {
+      Object[] task = batch.get(i);
+      RegionEntry entry = (RegionEntry) task[1];
+      if (entry == null) {
+        continue;
+      }
+      int action = ((Integer) task[0]).intValue();
+      Boolean skipRemoval = updatedLater.get(entry);
+      if (action == UPDATE_ENTRY) {
+        if (skipRemoval != null) {
+          skip[i] = true;
+          skipped++;
+        }
+        updatedLater.put(entry, skipRemoval != null);
+      } else if (action == REMOVE_ENTRY
+          && ((Integer) task[2]).intValue() == IndexProtocol.BEFORE_UPDATE_OP
+          && Boolean.TRUE.equals(skipRemoval)) {
+        skip[i] = true;
+        skipped++;
+        updatedLater.put(entry, Boolean.FALSE);
+      } else if (skipRemoval != null) {
+        updatedLater.put(entry, Boolean.FALSE);
+      }
+    }
+    if (skipped == 0) {
+      return batch;
+    }
+    List<Object[]> tasks = new ArrayList<Object[]>(batch.size() - skipped);
+    for (int i = 0; i < skip.length; i++) {
+      if (!skip[i]) {
+        tasks.add(batch.get(i));
+      }
+    }
+    return tasks;
+  }
+
   /**
    * Index Task used to create the index. This is used along with the FutureTask to take care of,
    * same index creation request from multiple threads. At any time only one thread succeeds and
@@ -40,6 +40,7 @@ public class IndexStats {
   private static final int readLockCountId;
   private static final int numMapIndexKeysId;
   private static final int numBucketIndexesId;
+  private static final int bucketIndexesPopulatingId;
 
   /** The Statistics object that we delegate most behavior to */
   private final Statistics stats;
@@ -68,7 +69,10 @@ public class IndexStats {
             f.createIntGauge("readLockCount", "Current number of read locks taken.", "uses"),
             f.createLongGauge("numMapIndexKeys", "Number of keys in this Map index", "keys"),
             f.createIntGauge("numBucketIndexes",
-                "Number of bucket indexes in the partitioned region", "indexes"),});
+                "Number of bucket indexes in the partitioned region", "indexes"),
+            f.createIntGauge("bucketIndexesPopulating",
+                "Current number of bucket indexes being populated for the creation of this index",
+                "indexes"),});
 
     // Initialize id fields
     numKeysId = type.nameToId("numKeys");
@@ -82,6 +86,7 @@ public class IndexStats {
     readLockCountId = type.nameToId("readLockCount");
     numMapIndexKeysId = type.nameToId("numMapIndexKeys");
     numBucketIndexesId = type.nameToId("numBucketIndexes");
+    bucketIndexesPopulatingId = type.nameToId("bucketIndexesPopulating");
   }
 
   //////////////////////// Constructors ////////////////////////
@@ -132,6 +137,10 @@ public class IndexStats {
     return stats.getInt(numBucketIndexesId);
   }
 
+  public int getNumberOfBucketIndexesPopulating() {
+    return stats.getInt(bucketIndexesPopulatingId);
+  }
+
   ////////////////////// Updating Stats //////////////////////
 
   public void incNumUpdates() {
@@ -189,6 +198,10 @@ public class IndexStats {
   public void incNumBucketIndexes(int delta) {
     this.stats.incInt(numBucketIndexesId, delta);
   }
+
+  public void incBucketIndexesPopulating(int delta) {
+    this.stats.incInt(bucketIndexesPopulatingId, delta);
+  }
   ////// Special Instance Methods /////
 
   /**
@@ -209,8 +209,8 @@ public class PartitionedIndex extends AbstractIndex {
   /**
    * Returns the index for the bucket.
    */
-  static public AbstractIndex getBucketIndex(PartitionedRegion pr, String indexName, Integer bId)
-      throws QueryInvocationTargetException {
+  static public AbstractIndex getBucketIndex(PartitionedRegion pr, String indexName, Integer bId,
+      ExecutionContext context) throws QueryInvocationTargetException {
     try {
       pr.checkReadiness();
     } catch (Exception ex) {
@@ -223,8 +223,10 @@ public class PartitionedIndex extends AbstractIndex {
       throw new BucketMovedException("Bucket not found for the id :" + bId);
     }
     AbstractIndex index = null;
-    if (bukRegion.getIndexManager() != null) {
-      index = (AbstractIndex) (bukRegion.getIndexManager().getIndex(indexName));
+    IndexManager indexManager = bukRegion.getIndexManager();
+    if (indexManager != null) {
+      context.waitForPendingIndexUpdates(indexManager);
+      index = (AbstractIndex) (indexManager.getIndex(indexName));
     } else {
       if (pr.getCache().getLogger().fineEnabled()) {
         pr.getCache().getLogger().fine("Index Manager not found for the bucket region "
@@ -487,6 +489,10 @@ public class PartitionedIndex extends AbstractIndex {
       this.vsdStats.incNumBucketIndexes(delta);
     }
 
+    public void incBucketIndexesPopulating(int delta) {
+      this.vsdStats.incBucketIndexesPopulating(delta);
+    }
+
     /**
      * Returns the number of keys in this index at the highest level
      */
@@ -533,6 +539,10 @@ public class PartitionedIndex extends AbstractIndex {
       return vsdStats.getNumberOfBucketIndexes();
     }
 
+    public int getNumberOfBucketIndexesPopulating() {
+      return vsdStats.getNumberOfBucketIndexesPopulating();
+    }
+
     public void close() {
       this.vsdStats.close();
     }
@@ -611,6 +621,26 @@ public class PartitionedIndex extends AbstractIndex {
     }
   }
 
+  /**
+   * Adds to the number of local bucket indexes still to be populated by the creation of this index,
+   * which shows the progress of the creation.
+   */
+  public void incBucketIndexesPopulating(int delta) {
+    if (internalIndexStats != null) {
+      this.internalIndexStats.incBucketIndexesPopulating(delta);
+    }
+  }
+
+  /**
+   * Returns the number of local bucket indexes still to be populated by the creation of this index.
+   */
+  public int getNumberOfBucketIndexesPopulating() {
+    if (internalIndexStats != null) {
+      return this.internalIndexStats.getNumberOfBucketIndexesPopulating();
+    }
+    return 0;
+  }
+
   @Override
   public boolean isEmpty() {
     boolean empty = true;
@@ -33,18 +33,18 @@ public class ASTLiteral extends GemFireAST {
   }
 
 
-  private Object computeValue() throws QueryInvalidException {
+  private Object computeValue(String text) throws QueryInvalidException {
     switch (getType()) {
       case OQLLexerTokenTypes.StringLiteral:
-        return getString(getText(), '\'');
+        return getString(text, '\'');
       case OQLLexerTokenTypes.NUM_INT:
-        return getInt(getText());
+        return getInt(text);
       case OQLLexerTokenTypes.NUM_DOUBLE:
-        return getDouble(getText());
+        return getDouble(text);
       case OQLLexerTokenTypes.NUM_FLOAT:
-        return getFloat(getText());
+        return getFloat(text);
       case OQLLexerTokenTypes.NUM_LONG:
-        return getLong(getText());
+        return getLong(text);
       case OQLLexerTokenTypes.LITERAL_nil:
       case OQLLexerTokenTypes.LITERAL_null:
         return null;
@@ -132,7 +132,16 @@ public class ASTLiteral extends GemFireAST {
 
   @Override
   public void compile(QCompiler compiler) throws QueryInvalidException {
-    Object value = computeValue();
+    Object value = computeValue(getText());
+    compiler.pushLiteral(value);
+  }
+
+  /**
+   * Compiles this numeric literal preceded by a unary minus, without changing its text, as parse
+   * trees are compiled again for every query with the same query string
+   */
+  public void compileNegated(QCompiler compiler) throws QueryInvalidException {
+    Object value = computeValue('-' + getText());
     compiler.pushLiteral(value);
   }
 
@@ -55,11 +55,12 @@ public class ASTType extends GemFireAST {
     super.compile(compiler);
 
     Assert.assertTrue(this.javaType != null ^ this.typeName != null);
+    // not kept in javaType, so that the parse tree can be compiled again
     if (this.typeName != null) {
-      this.javaType = compiler.resolveType(this.typeName);
+      compiler.push(compiler.resolveType(this.typeName));
+    } else {
+      compiler.push(this.javaType);
     }
-
-    compiler.push(this.javaType);
   }
 
 
@@ -38,28 +38,16 @@ class NumericComparator implements Comparator {
     Number num2 = (Number) obj2;
 
 
-    // create as few objects as possible, but
-    // use compareTo algorithm in the wrapper classes for float
-    // and double so it has the same behavior as index lookups.
-    // for integers, the algorithm is the same for wrappers and primitives,
-    // so use primitives there.
-    if (num1 instanceof Double)
-      if (num2 instanceof Double)
-        // this case may happen if one is a Double.TYPE
-        // and the other is Double.class
-        return ((Double) num1).compareTo((Double) num2);
-      else
-        return ((Double) num1).compareTo(Double.valueOf(num2.doubleValue()));
-    else if (num2 instanceof Double)
-      return Double.valueOf(num1.doubleValue()).compareTo((Double) num2);
+    // don't create any objects, but use the compare algorithm of the
+    // wrapper classes for float and double (Double.compare and
+    // Float.compare back their compareTo) so it has the same behavior
+    // as index lookups. for integers, the algorithm is the same for
+    // wrappers and primitives, so use primitives there.
+    if (num1 instanceof Double || num2 instanceof Double)
+      return Double.compare(num1.doubleValue(), num2.doubleValue());
 
-    if (num1 instanceof Float)
-      if (num2 instanceof Float)
-        return ((Float) num1).compareTo((Float) num2);
-      else
-        return ((Float) num1).compareTo(new Float(num2.doubleValue()));
-    else if (num2 instanceof Float)
-      return new Float(num1.doubleValue()).compareTo((Float) num2);
+    if (num1 instanceof Float || num2 instanceof Float)
+      return Float.compare((float) num1.doubleValue(), (float) num2.doubleValue());
 
 
     if (num1 instanceof Long)
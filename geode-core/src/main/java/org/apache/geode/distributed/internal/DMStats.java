@@ -146,6 +146,14 @@ public interface DMStats {
    */
   public void incMessageProcessingScheduleTime(long nanos);
 
+  /**
+   * Increments the total number of nanoseconds spent scheduling messages to be processed and the
+   * time for the processor type the message was scheduled on.
+   *
+   * @since Geode 1.1
+   */
+  public void incMessageProcessingScheduleTime(int processorType, long nanos);
+
   public int getOverflowQueueSize();
 
   public void incOverflowQueueSize(int messages);
@@ -538,6 +546,14 @@ public interface DMStats {
    */
   public void incSenderBufferSize(int inc, boolean direct);
 
+  /**
+   * Records a direct message buffer request that was satisfied by a pooled buffer (hit) or that had
+   * to allocate a new one (miss).
+   * 
+   * @since Geode 1.1
+   */
+  public void incBufferPoolAcquire(boolean hit);
+
   /**
    * @since GemFire 5.0.2.4
    */
@@ -699,4 +715,13 @@ public interface DMStats {
   public long getUdpFinalCheckResponsesReceived();
 
   public void incUdpFinalCheckResponsesReceived();
+
+  public double getNeighborSuspicionLevel();
+
+  /**
+   * Sets the phi accrual suspicion level of the member watched by this member's health monitor
+   *
+   * @since Geode 1.1
+   */
+  public void setNeighborSuspicionLevel(double phi);
 }
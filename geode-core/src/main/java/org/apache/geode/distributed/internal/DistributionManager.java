@@ -119,6 +119,10 @@ public class DistributionManager implements DM {
       Math.max(Runtime.getRuntime().availableProcessors() * 4, 16)).intValue();
   public static final int MAX_FE_THREADS = Integer.getInteger("DistributionManager.MAX_FE_THREADS",
       Math.max(Runtime.getRuntime().availableProcessors() * 4, 16)).intValue();
+  /** the size of the pool that processes the messages listed in ExpeditedMessageTypes */
+  public static final int MAX_EXPEDITED_THREADS =
+      Integer.getInteger("DistributionManager.MAX_EXPEDITED_THREADS",
+          Math.max(Runtime.getRuntime().availableProcessors(), 4)).intValue();
   // Integer.getInteger("DistributionManager.MAX_THREADS",
   // max(Runtime.getRuntime().availableProcessors()*2, 2)).intValue();
 
@@ -234,6 +238,13 @@ public class DistributionManager implements DM {
 
   public static final int REGION_FUNCTION_EXECUTION_EXECUTOR = 80;
 
+  /**
+   * Executor for the message types listed in {@link ExpeditedMessageTypes}
+   * 
+   * @since Geode 1.1
+   */
+  public static final int EXPEDITED_EXECUTOR = 81;
+
   /** The number of open distribution managers in this VM */
   private static int openDMs = 0;
 
@@ -383,6 +394,16 @@ public class DistributionManager implements DM {
    */
   private ThreadPoolExecutor highPriorityPool;
 
+  /** the message types that are processed in the expedited pool */
+  private final ExpeditedMessageTypes expeditedMessageTypes =
+      ExpeditedMessageTypes.fromSystemProperty();
+
+  /**
+   * Expedited processing thread pool, used for the message types listed in
+   * {@link #expeditedMessageTypes}. Null if there are none.
+   */
+  private ThreadPoolExecutor expeditedPool;
+
   /**
    * Waiting Pool, used for messages that may have to wait on something. Use this separate pool with
    * an unbounded queue so that waiting runnables don't get in the way of other processing threads.
@@ -932,6 +953,37 @@ public class DistributionManager implements DM {
             this.stats.getHighPriorityPoolHelper(), tf);
       }
 
+      if (!this.expeditedMessageTypes.isEmpty()) {
+        BlockingQueue<Runnable> poolQueue;
+        if (INCOMING_QUEUE_LIMIT == 0) {
+          poolQueue = new LinkedBlockingQueue<Runnable>();
+        } else {
+          poolQueue = new LinkedBlockingQueue<Runnable>(INCOMING_QUEUE_LIMIT);
+        }
+        ThreadFactory tf = new ThreadFactory() {
+          private int next = 0;
+
+          public Thread newThread(final Runnable command) {
+            final Runnable r = new Runnable() {
+              public void run() {
+                try {
+                  ConnectionTable.threadWantsSharedResources();
+                  Connection.makeReaderThread();
+                  runUntilShutdown(command);
+                } finally {
+                  ConnectionTable.releaseThreadsSockets();
+                }
+              }
+            };
+            Thread thread = new Thread(group, r, "Expedited Message Processor" + (next++));
+            thread.setDaemon(true);
+            return thread;
+          }
+        };
+        this.expeditedPool =
+            new PooledExecutorWithDMStats(poolQueue, MAX_EXPEDITED_THREADS, null, tf);
+      }
+
 
       {
         ThreadFactory tf = new ThreadFactory() {
@@ -1959,6 +2011,10 @@ public class DistributionManager implements DM {
     if (es != null) {
       es.shutdown();
     }
+    es = this.expeditedPool;
+    if (es != null) {
+      es.shutdown();
+    }
     es = this.waitingPool;
     if (es != null) {
       es.shutdown();
@@ -1983,7 +2039,7 @@ public class DistributionManager implements DM {
 
     ExecutorService[] allExecutors = new ExecutorService[] {this.serialThread, this.viewThread,
         this.functionExecutionThread, this.functionExecutionPool, this.partitionedRegionThread,
-        this.partitionedRegionPool, this.highPriorityPool, this.waitingPool,
+        this.partitionedRegionPool, this.highPriorityPool, this.expeditedPool, this.waitingPool,
         this.prMetaDataCleanupThreadPool, this.threadPool};
     for (ExecutorService es : allExecutors) {
       if (es != null) {
@@ -2113,6 +2169,10 @@ public class DistributionManager implements DM {
         stillAlive = true;
         culprits = culprits + " high priority pool;";
       }
+      if (executorAlive(this.expeditedPool, "expedited pool")) {
+        stillAlive = true;
+        culprits = culprits + " expedited pool;";
+      }
       if (executorAlive(this.waitingPool, "waiting pool")) {
         stillAlive = true;
         culprits = culprits + " waiting pool;";
@@ -2171,6 +2231,9 @@ public class DistributionManager implements DM {
     if (this.highPriorityPool != null) {
       this.highPriorityPool.shutdownNow();
     }
+    if (this.expeditedPool != null) {
+      this.expeditedPool.shutdownNow();
+    }
     if (this.waitingPool != null) {
       this.waitingPool.shutdownNow();
     }
@@ -3337,6 +3400,21 @@ public class DistributionManager implements DM {
     }
   }
 
+  /** Returns the message types that are processed in the expedited pool */
+  ExpeditedMessageTypes getExpeditedMessageTypes() {
+    return this.expeditedMessageTypes;
+  }
+
+  /**
+   * Returns the type of processor a received message is scheduled on.
+   *
+   * @see ExpeditedMessageTypes#getProcessorType(DistributionMessage)
+   * @since Geode 1.1
+   */
+  public final int getProcessorType(DistributionMessage msg) {
+    return getExpeditedMessageTypes().getProcessorType(msg);
+  }
+
   /**
    * Returns the executor for the given type of processor.
    *
@@ -3351,6 +3429,8 @@ public class DistributionManager implements DM {
         return this.viewThread;
       case HIGH_PRIORITY_EXECUTOR:
         return getHighPriorityThreadPool();
+      case EXPEDITED_EXECUTOR:
+        return getExpeditedThreadPool();
       case WAITING_POOL_EXECUTOR:
         return getWaitingThreadPool();
       case PARTITIONED_REGION_EXECUTOR:
@@ -3774,6 +3854,14 @@ public class DistributionManager implements DM {
     return this.highPriorityPool;
   }
 
+  /**
+   * Returns the pool for the message types listed in {@link ExpeditedMessageTypes}, or null if
+   * there are none
+   */
+  ExecutorService getExpeditedThreadPool() {
+    return this.expeditedPool;
+  }
+
   /**
    * Return the waiting message-processing executor
    */
@@ -326,7 +326,7 @@ public abstract class DistributionMessage implements DataSerializableFixedID, Cl
    * Return the Executor in which to process this message.
    */
   protected Executor getExecutor(DistributionManager dm) {
-    return dm.getExecutor(getProcessorType(), sender);
+    return dm.getExecutor(dm.getProcessorType(this), sender);
   }
 
   // private Executor getExecutor(DistributionManager dm, Class clazz) {
@@ -364,7 +364,8 @@ public abstract class DistributionMessage implements DataSerializableFixedID, Cl
     long time = 0;
     if (DistributionStats.enableClockStats) {
       time = DistributionStats.getStatTime();
-      dm.getStats().incMessageProcessingScheduleTime(time - getTimestamp());
+      dm.getStats().incMessageProcessingScheduleTime(dm.getProcessorType(this),
+          time - getTimestamp());
     }
     setBreadcrumbsInReceiver();
     try {
@@ -56,6 +56,11 @@ public class DistributionStats implements DMStats {
   private final static int processedMessagesId;
   private final static int processedMessagesTimeId;
   private final static int messageProcessingScheduleTimeId;
+  private final static int pooledMessageScheduleTimeId;
+  private final static int serialMessageScheduleTimeId;
+  private final static int highPriorityMessageScheduleTimeId;
+  private final static int partitionedRegionMessageScheduleTimeId;
+  private final static int functionExecutionMessageScheduleTimeId;
   private final static int messageChannelTimeId;
   private final static int udpDispatchRequestTimeId;
   private final static int replyMessageTimeId;
@@ -188,6 +193,8 @@ public class DistributionStats implements DMStats {
   private static final int receiverHeapBufferSizeId;
   private static final int senderDirectBufferSizeId;
   private static final int senderHeapBufferSizeId;
+  private static final int bufferPoolHitsId;
+  private static final int bufferPoolMissesId;
 
   private static final int messagesBeingReceivedId;
   private static final int messageBytesBeingReceivedId;
@@ -235,6 +242,7 @@ public class DistributionStats implements DMStats {
   private final static int udpFinalCheckRequestsReceivedId;
   private final static int udpFinalCheckResponsesSentId;
   private final static int udpFinalCheckResponsesReceivedId;
+  private final static int neighborSuspicionLevelId;
 
   static {
     String statName = "DistributionStats";
@@ -266,6 +274,16 @@ public class DistributionStats implements DMStats {
         "The amount of time this distribution manager has spent in message.process().";
     final String messageProcessingScheduleTimeDesc =
         "The amount of time this distribution manager has spent dispatching message to processor threads.";
+    final String pooledMessageScheduleTimeDesc =
+        "The part of messageProcessingScheduleTime spent by messages waiting for a pooled message processor thread.";
+    final String serialMessageScheduleTimeDesc =
+        "The part of messageProcessingScheduleTime spent by messages waiting for a serial message processor thread.";
+    final String highPriorityMessageScheduleTimeDesc =
+        "The part of messageProcessingScheduleTime spent by messages waiting for a high priority message processor thread.";
+    final String partitionedRegionMessageScheduleTimeDesc =
+        "The part of messageProcessingScheduleTime spent by messages waiting for a partitioned region message processor thread.";
+    final String functionExecutionMessageScheduleTimeDesc =
+        "The part of messageProcessingScheduleTime spent by messages waiting for a function execution processor thread.";
     final String overflowQueueSizeDesc =
         "The number of normal distribution messages currently waiting to be processed.";
     final String waitingQueueSizeDesc =
@@ -439,6 +457,8 @@ public class DistributionStats implements DMStats {
         "UDP final check responses that this member has sent.";
     final String udpFinalCheckResponsesReceivedDesc =
         "UDP final check responses that this member has received.";
+    final String neighborSuspicionLevelDesc =
+        "The phi accrual suspicion level of the member that this member is watching, computed from the arrival times of its heartbeats. Each step of 1 is a ten times lower chance that suspecting the member would be a mistake.";
 
     StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
 
@@ -459,6 +479,16 @@ public class DistributionStats implements DMStats {
             false),
         f.createLongCounter("messageProcessingScheduleTime", messageProcessingScheduleTimeDesc,
             "nanoseconds", false),
+        f.createLongCounter("pooledMessageScheduleTime", pooledMessageScheduleTimeDesc,
+            "nanoseconds", false),
+        f.createLongCounter("serialMessageScheduleTime", serialMessageScheduleTimeDesc,
+            "nanoseconds", false),
+        f.createLongCounter("highPriorityMessageScheduleTime",
+            highPriorityMessageScheduleTimeDesc, "nanoseconds", false),
+        f.createLongCounter("partitionedRegionMessageScheduleTime",
+            partitionedRegionMessageScheduleTimeDesc, "nanoseconds", false),
+        f.createLongCounter("functionExecutionMessageScheduleTime",
+            functionExecutionMessageScheduleTimeDesc, "nanoseconds", false),
         f.createIntGauge("overflowQueueSize", overflowQueueSizeDesc, "messages"),
         f.createIntGauge("waitingQueueSize", waitingQueueSizeDesc, "messages"),
         f.createIntGauge("overflowQueueThrottleCount", overflowQueueThrottleCountDesc, "delays"),
@@ -648,6 +678,12 @@ public class DistributionStats implements DMStats {
         f.createLongGauge("receiverHeapBufferSize", receiverHeapBufferSizeDesc, "bytes"),
         f.createLongGauge("senderDirectBufferSize", senderDirectBufferSizeDesc, "bytes"),
         f.createLongGauge("senderHeapBufferSize", senderHeapBufferSizeDesc, "bytes"),
+        f.createLongCounter("bufferPoolHits",
+            "Total number of direct message buffer requests satisfied by a pooled buffer.",
+            "operations"),
+        f.createLongCounter("bufferPoolMisses",
+            "Total number of direct message buffer requests that allocated a new buffer.",
+            "operations"),
         f.createIntGauge("socketLocksInProgress",
             "Current number of threads waiting to lock a socket", "threads", false),
         f.createIntCounter("socketLocks", "Total number of times a socket has been locked.",
@@ -740,7 +776,8 @@ public class DistributionStats implements DMStats {
         f.createLongCounter("udpFinalCheckResponsesSent", udpFinalCheckResponsesSentDesc,
             "messages"),
         f.createLongCounter("udpFinalCheckResponsesReceived", udpFinalCheckResponsesReceivedDesc,
-            "messages"),});
+            "messages"),
+        f.createDoubleGauge("neighborSuspicionLevel", neighborSuspicionLevelDesc, "phi"),});
 
     // Initialize id fields
     sentMessagesId = type.nameToId("sentMessages");
@@ -756,6 +793,13 @@ public class DistributionStats implements DMStats {
     processedMessagesId = type.nameToId("processedMessages");
     processedMessagesTimeId = type.nameToId("processedMessagesTime");
     messageProcessingScheduleTimeId = type.nameToId("messageProcessingScheduleTime");
+    pooledMessageScheduleTimeId = type.nameToId("pooledMessageScheduleTime");
+    serialMessageScheduleTimeId = type.nameToId("serialMessageScheduleTime");
+    highPriorityMessageScheduleTimeId = type.nameToId("highPriorityMessageScheduleTime");
+    partitionedRegionMessageScheduleTimeId =
+        type.nameToId("partitionedRegionMessageScheduleTime");
+    functionExecutionMessageScheduleTimeId =
+        type.nameToId("functionExecutionMessageScheduleTime");
     messageChannelTimeId = type.nameToId("messageChannelTime");
     udpDispatchRequestTimeId = type.nameToId("udpDispatchRequestTime");
     replyMessageTimeId = type.nameToId("replyMessageTime");
@@ -876,6 +920,8 @@ public class DistributionStats implements DMStats {
     receiverHeapBufferSizeId = type.nameToId("receiverHeapBufferSize");
     senderDirectBufferSizeId = type.nameToId("senderDirectBufferSize");
     senderHeapBufferSizeId = type.nameToId("senderHeapBufferSize");
+    bufferPoolHitsId = type.nameToId("bufferPoolHits");
+    bufferPoolMissesId = type.nameToId("bufferPoolMisses");
 
     socketLocksInProgressId = type.nameToId("socketLocksInProgress");
     socketLocksId = type.nameToId("socketLocks");
@@ -930,6 +976,7 @@ public class DistributionStats implements DMStats {
     udpFinalCheckRequestsReceivedId = type.nameToId("udpFinalCheckRequestsReceived");
     udpFinalCheckResponsesSentId = type.nameToId("udpFinalCheckResponsesSent");
     udpFinalCheckResponsesReceivedId = type.nameToId("udpFinalCheckResponsesReceived");
+    neighborSuspicionLevelId = type.nameToId("neighborSuspicionLevel");
   }
 
   /** The Statistics object that we delegate most behavior to */
@@ -1151,6 +1198,39 @@ public class DistributionStats implements DMStats {
     }
   }
 
+  /**
+   * Increments the total number of nanoseconds spent scheduling messages to be processed and the
+   * time for the processor type the message was scheduled on.
+   *
+   * @since Geode 1.1
+   */
+  public void incMessageProcessingScheduleTime(int processorType, long elapsed) {
+    if (enableClockStats) {
+      this.stats.incLong(messageProcessingScheduleTimeId, elapsed);
+      int id = getMessageScheduleTimeId(processorType);
+      if (id != -1) {
+        this.stats.incLong(id, elapsed);
+      }
+    }
+  }
+
+  private static int getMessageScheduleTimeId(int processorType) {
+    switch (processorType) {
+      case DistributionManager.STANDARD_EXECUTOR:
+        return pooledMessageScheduleTimeId;
+      case DistributionManager.SERIAL_EXECUTOR:
+        return serialMessageScheduleTimeId;
+      case DistributionManager.HIGH_PRIORITY_EXECUTOR:
+        return highPriorityMessageScheduleTimeId;
+      case DistributionManager.PARTITIONED_REGION_EXECUTOR:
+        return partitionedRegionMessageScheduleTimeId;
+      case DistributionManager.REGION_FUNCTION_EXECUTION_EXECUTOR:
+        return functionExecutionMessageScheduleTimeId;
+      default:
+        return -1;
+    }
+  }
+
   public int getOverflowQueueSize() {
     return this.stats.getInt(overflowQueueSizeId);
   }
@@ -2115,6 +2195,17 @@ public class DistributionStats implements DMStats {
     }
   }
 
+  /**
+   * @since Geode 1.1
+   */
+  public void incBufferPoolAcquire(boolean hit) {
+    if (hit) {
+      stats.incLong(bufferPoolHitsId, 1);
+    } else {
+      stats.incLong(bufferPoolMissesId, 1);
+    }
+  }
+
   public void incMessagesBeingReceived(boolean newMsg, int bytes) {
     if (newMsg) {
       stats.incInt(messagesBeingReceivedId, 1);
@@ -2427,4 +2518,12 @@ public class DistributionStats implements DMStats {
     this.stats.incLong(udpFinalCheckResponsesReceivedId, 1L);
   }
 
+  public double getNeighborSuspicionLevel() {
+    return this.stats.getDouble(neighborSuspicionLevelId);
+  }
+
+  public void setNeighborSuspicionLevel(double phi) {
+    this.stats.setDouble(neighborSuspicionLevelId, phi);
+  }
+
 }
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The message classes that are processed in the distribution manager's expedited pool instead of
+ * the standard or partitioned region pool, so that they are not queued behind bulk traffic. The
+ * expedited pool is separate from the high priority pool so that listed messages can not hold up
+ * membership and region initialization messages. Messages that need ordered processing are never
+ * moved.
+ *
+ * @since Geode 1.1
+ */
+final class ExpeditedMessageTypes {
+
+  /**
+   * Comma separated list of message class names, simple or fully qualified, to expedite
+   */
+  static final String PROPERTY_NAME =
+      DistributionConfig.GEMFIRE_PREFIX + "DistributionManager.expeditedMessageTypes";
+
+  private final Set<String> typeNames;
+
+  /** caches whether a message class is listed in typeNames */
+  private final ConcurrentMap<Class<?>, Boolean> expeditedClasses =
+      new ConcurrentHashMap<Class<?>, Boolean>();
+
+  /**
+   * @param typeNames comma separated list of message class names, simple or fully qualified
+   */
+  ExpeditedMessageTypes(String typeNames) {
+    Set<String> result = new HashSet<String>();
+    for (String name : typeNames.split(",")) {
+      name = name.trim();
+      if (name.length() > 0) {
+        result.add(name);
+      }
+    }
+    this.typeNames = Collections.unmodifiableSet(result);
+  }
+
+  static ExpeditedMessageTypes fromSystemProperty() {
+    return new ExpeditedMessageTypes(System.getProperty(PROPERTY_NAME, ""));
+  }
+
+  boolean isEmpty() {
+    return this.typeNames.isEmpty();
+  }
+
+  /**
+   * Returns the type of processor a received message is scheduled on. This is the message's own
+   * {@link DistributionMessage#getProcessorType() processor type} unless its class is listed, in
+   * which case messages destined for the standard or partitioned region pool are moved to the
+   * expedited pool.
+   */
+  int getProcessorType(DistributionMessage msg) {
+    int processorType = msg.getProcessorType();
+    if (this.typeNames.isEmpty()) {
+      return processorType;
+    }
+    if (processorType != DistributionManager.STANDARD_EXECUTOR
+        && processorType != DistributionManager.PARTITIONED_REGION_EXECUTOR) {
+      return processorType;
+    }
+    Class<?> c = msg.getClass();
+    Boolean expedited = this.expeditedClasses.get(c);
+    if (expedited == null) {
+      expedited = Boolean.valueOf(
+          this.typeNames.contains(c.getName()) || this.typeNames.contains(c.getSimpleName()));
+      this.expeditedClasses.put(c, expedited);
+    }
+    return expedited.booleanValue() ? DistributionManager.EXPEDITED_EXECUTOR : processorType;
+  }
+}
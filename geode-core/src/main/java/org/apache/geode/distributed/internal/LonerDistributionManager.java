@@ -399,6 +399,9 @@ public class LonerDistributionManager implements DM {
     @Override
     public void incMessageProcessingScheduleTime(long nanos) {}
 
+    @Override
+    public void incMessageProcessingScheduleTime(int processorType, long nanos) {}
+
     @Override
     public int getOverflowQueueSize() {
       return 0;
@@ -774,6 +777,9 @@ public class LonerDistributionManager implements DM {
     @Override
     public void incSenderBufferSize(int inc, boolean direct) {}
 
+    @Override
+    public void incBufferPoolAcquire(boolean hit) {}
+
     @Override
     public long startSocketLock() {
       return 0;
@@ -971,6 +977,14 @@ public class LonerDistributionManager implements DM {
     @Override
     public void incUdpFinalCheckResponsesReceived() {}
 
+    @Override
+    public double getNeighborSuspicionLevel() {
+      return 0;
+    }
+
+    @Override
+    public void setNeighborSuspicionLevel(double phi) {}
+
     @Override
     public long startUDPMsgEncryption() {
       return 0;
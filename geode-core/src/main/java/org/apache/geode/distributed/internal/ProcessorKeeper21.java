@@ -37,7 +37,7 @@ public class ProcessorKeeper21 {
   /**
    * Key is a unique id, value is an instance of some processor class
    */
-  private final ObjIdConcurrentMap<Object> map = new ObjIdConcurrentMap<Object>();
+  private final ObjIdConcurrentMap<Object> map;
 
   /**
    * If true then use weak refs to reference the processors.
@@ -52,6 +52,17 @@ public class ProcessorKeeper21 {
 
   public ProcessorKeeper21(boolean useWeakRefs) {
     this.useWeakRefs = useWeakRefs;
+    this.map = new ObjIdConcurrentMap<Object>();
+  }
+
+  /**
+   * @param concurrencyLevel the estimated number of threads putting and removing processors at the
+   *        same time. Lookups never lock, but every put and remove locks a segment of the map.
+   * @since Geode 1.1
+   */
+  public ProcessorKeeper21(boolean useWeakRefs, int concurrencyLevel) {
+    this.useWeakRefs = useWeakRefs;
+    this.map = new ObjIdConcurrentMap<Object>(concurrencyLevel * 4, 0.75f, concurrencyLevel);
   }
 
   private int getNextId() {
@@ -86,8 +86,20 @@ public class ReplyProcessor21 implements MembershipListener {
    */
   public final static double PR_SEVERE_ALERT_RATIO;
 
+  /**
+   * The number of lock segments in the reply processor keeper. Every distributed operation
+   * registers and removes a reply processor, so with many threads doing operations the default of
+   * 16 segments is a point of contention.
+   * 
+   * @since Geode 1.1
+   */
+  static final int KEEPER_CONCURRENCY_LEVEL =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "ReplyProcessor21.concurrencyLevel",
+          Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+
   /** All live reply processors in this VM */
-  protected final static ProcessorKeeper21 keeper = new ProcessorKeeper21();
+  protected final static ProcessorKeeper21 keeper =
+      new ProcessorKeeper21(true, KEEPER_CONCURRENCY_LEVEL);
 
   //////////////////// Instance Methods ////////////////////
 
@@ -28,6 +28,15 @@ public class ServiceConfig {
   public static final long MEMBER_REQUEST_COLLECTION_INTERVAL =
       Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "member-request-collection-interval", 300);
 
+  /**
+   * longest time to keep collecting join requests for one view while more of them keep arriving,
+   * as they do when many members are started at once
+   *
+   * @since Geode 1.1
+   */
+  public static final long MEMBER_REQUEST_MAX_COLLECTION_INTERVAL = Long.getLong(
+      DistributionConfig.GEMFIRE_PREFIX + "member-request-max-collection-interval", 2000);
+
   /** various settings from Geode configuration */
   private final long joinTimeout;
   private final int[] membershipPortRange;
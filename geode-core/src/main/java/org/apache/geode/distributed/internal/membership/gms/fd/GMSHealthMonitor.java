@@ -129,6 +129,29 @@ public class GMSHealthMonitor implements HealthMonitor, MessageHandler {
   public static final long MEMBER_SUSPECT_COLLECTION_INTERVAL =
       Long.getLong("geode.suspect-member-collection-interval", 200);
 
+  /**
+   * Suspicion level at which the member being watched is checked with a heartbeat request, in place
+   * of the fixed member-timeout rule, once enough of its heartbeats have been seen to know how
+   * regularly they arrive. Each step of 1 is a ten times lower chance of wrongly suspecting the
+   * member. Zero, the default, disables adaptive detection. The suspicion level of the watched
+   * member is tracked in statistics either way.
+   *
+   * @since Geode 1.1
+   */
+  public static final double PHI_THRESHOLD =
+      Double.parseDouble(System.getProperty("geode.phi-accrual-threshold", "0"));
+
+  /**
+   * The number of heartbeat inter-arrival times remembered for each member
+   */
+  static final int HEARTBEAT_HISTORY_SIZE =
+      Integer.getInteger("geode.phi-accrual-history-size", 100);
+
+  /**
+   * The number of heartbeat inter-arrival times needed before the suspicion level is trusted
+   */
+  static final int MIN_HEARTBEAT_HISTORY = 10;
+
   private volatile long currentTimeStamp;
 
   /**
@@ -142,6 +165,12 @@ public class GMSHealthMonitor implements HealthMonitor, MessageHandler {
   final ConcurrentMap<InternalDistributedMember, TimeStamp> memberTimeStamps =
       new ConcurrentHashMap<>();
 
+  /**
+   * Inter-arrival times of periodic heartbeats from each member
+   */
+  final ConcurrentMap<InternalDistributedMember, HeartbeatHistory> heartbeatHistories =
+      new ConcurrentHashMap<>();
+
   /**
    * Members currently being suspected and the view they were suspected in
    */
@@ -154,6 +183,12 @@ public class GMSHealthMonitor implements HealthMonitor, MessageHandler {
   final private List<InternalDistributedMember> membersInFinalCheck =
       Collections.synchronizedList(new ArrayList<>(30));
 
+  /**
+   * Members with a heartbeat request check in progress
+   */
+  final private Set<InternalDistributedMember> membersBeingChecked =
+      ConcurrentHashMap.newKeySet();
+
   /**
    * Replies to messages
    */
@@ -256,9 +291,20 @@ public class GMSHealthMonitor implements HealthMonitor, MessageHandler {
           return;
         }
 
-        long interval = memberTimeoutInMillis / GMSHealthMonitor.LOGICAL_INTERVAL;
         long lastTS = currentTime - nextNeighborTS.getTime();
-        if (lastTS + interval >= memberTimeoutInMillis) {
+        double phi = 0;
+        HeartbeatHistory history = heartbeatHistories.get(neighbour);
+        if (history != null) {
+          // any contact from the member counts, not just heartbeats
+          long elapsed = Math.min(lastTS, currentTime - history.getLastHeartbeat());
+          phi = history.phi(elapsed);
+          stats.setNeighborSuspicionLevel(Math.min(phi, Integer.MAX_VALUE));
+        }
+        if (isCheckNeeded(lastTS, memberTimeoutInMillis, history, phi, PHI_THRESHOLD)) {
+          if (phi >= PHI_THRESHOLD && PHI_THRESHOLD > 0) {
+            logger.debug("Suspicion level of {} is {} after {}ms without contact", neighbour, phi,
+                lastTS);
+          }
           logger.trace("Checking member {} ", neighbour);
           // now do check request for this member;
           checkMember(neighbour);
@@ -267,6 +313,27 @@ public class GMSHealthMonitor implements HealthMonitor, MessageHandler {
     }
   }
 
+  /**
+   * Returns true if the watched member should be sent a heartbeat request. The member is checked
+   * once member-timeout has passed without contact from it, and sooner if the phi threshold is set
+   * and its suspicion level has reached the threshold. Member-timeout stays an upper bound, so a
+   * member whose heartbeats are irregular enough to keep phi low is still checked.
+   *
+   * @param sinceLastContact milliseconds since the member was last heard from
+   * @param memberTimeout the member-timeout in milliseconds
+   * @param history the member's heartbeat history, or null if there is none
+   * @param phi the member's current suspicion level
+   * @param phiThreshold the suspicion level that triggers a check, or 0 to use only member-timeout
+   */
+  static boolean isCheckNeeded(long sinceLastContact, long memberTimeout, HeartbeatHistory history,
+      double phi, double phiThreshold) {
+    long interval = memberTimeout / LOGICAL_INTERVAL;
+    boolean timeoutCheck = sinceLastContact + interval >= memberTimeout;
+    boolean phiCheck = phiThreshold > 0 && history != null
+        && history.size() >= MIN_HEARTBEAT_HISTORY && phi >= phiThreshold;
+    return phiCheck || timeoutCheck;
+  }
+
   /***
    * Check thread waits on this object for response. It puts requestId in requestIdVsResponse map.
    * Response will have requestId, which is used to get ResponseObject. Then it is used to notify
@@ -400,6 +467,10 @@ public class GMSHealthMonitor implements HealthMonitor, MessageHandler {
   }
 
   private void checkMember(final InternalDistributedMember mbr) {
+    if (!membersBeingChecked.add(mbr)) {
+      // the result of the check that is already underway will do
+      return;
+    }
     final NetView cv = GMSHealthMonitor.this.currentView;
 
     // as check may take time
@@ -412,6 +483,8 @@ public class GMSHealthMonitor implements HealthMonitor, MessageHandler {
         pinged = GMSHealthMonitor.this.doCheckMember(mbr, true);
       } catch (CancelException e) {
         return;
+      } finally {
+        membersBeingChecked.remove(mbr);
       }
 
       if (!pinged) {
@@ -634,6 +707,10 @@ public class GMSHealthMonitor implements HealthMonitor, MessageHandler {
     });
     Monitor m = this.new Monitor(memberTimeout);
     long delay = memberTimeout / LOGICAL_INTERVAL;
+    if (PHI_THRESHOLD > 0) {
+      // look more often so that a suspicion level crossing the threshold is acted on promptly
+      delay = Math.max(1, delay / 4);
+    }
     monitorFuture = scheduler.scheduleAtFixedRate(m, delay, delay, TimeUnit.MILLISECONDS);
 
     // suspectRequestCollectorThread = this.new RequestCollector<SuspectRequest>("Geode Suspect
@@ -835,6 +912,12 @@ public class GMSHealthMonitor implements HealthMonitor, MessageHandler {
         it.remove();
       }
     }
+    for (Iterator<InternalDistributedMember> it = heartbeatHistories.keySet().iterator(); it
+        .hasNext();) {
+      if (!newView.contains(it.next())) {
+        it.remove();
+      }
+    }
     // for (InternalDistributedMember mbr: newView.getMembers()) {
     // if (!memberVsLastMsgTS.containsKey(mbr)) {
     // CustomTimeStamp customTS = new CustomTimeStamp(System.currentTimeMillis());
@@ -1118,7 +1201,25 @@ public class GMSHealthMonitor implements HealthMonitor, MessageHandler {
 
     }
     // we got heartbeat lets update timestamp
-    contactedBy(m.getSender(), System.currentTimeMillis());
+    long now = System.currentTimeMillis();
+    if (m.getRequestId() < 0) {
+      // only periodic heartbeats are regular enough to learn from
+      recordHeartbeat(m.getSender(), now);
+    }
+    contactedBy(m.getSender(), now);
+  }
+
+  private void recordHeartbeat(InternalDistributedMember sender, long timeStamp) {
+    HeartbeatHistory history = heartbeatHistories.get(sender);
+    if (history == null) {
+      long heartbeatInterval = memberTimeout / LOGICAL_INTERVAL;
+      history = new HeartbeatHistory(HEARTBEAT_HISTORY_SIZE, heartbeatInterval / 8);
+      HeartbeatHistory existing = heartbeatHistories.putIfAbsent(sender, history);
+      if (existing != null) {
+        history = existing;
+      }
+    }
+    history.heartbeatReceived(timeStamp);
   }
 
   /**
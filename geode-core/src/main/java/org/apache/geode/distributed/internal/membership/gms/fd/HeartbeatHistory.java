@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal.membership.gms.fd;
+
+/**
+ * A window of heartbeat inter-arrival times for one member. It is used to compute the "phi"
+ * suspicion level of the member as described in "The phi accrual failure detector" by Hayashibara
+ * et al. Phi is -log10 of the probability that a heartbeat would arrive later than the time that
+ * has elapsed since the last one, assuming normally distributed inter-arrival times. A phi of 1
+ * means a 10% chance of being wrong in suspecting the member, a phi of 2 a 1% chance and so on.
+ *
+ * @since Geode 1.1
+ */
+class HeartbeatHistory {
+
+  private final long[] intervals;
+
+  private final long minStdDeviation;
+
+  private int size;
+
+  private int next;
+
+  private long intervalSum;
+
+  private long squaredIntervalSum;
+
+  private long lastHeartbeat;
+
+  /**
+   * @param maxSize the number of inter-arrival times to remember
+   * @param minStdDeviation the smallest standard deviation, in millis, to use in computing phi. This
+   *        keeps very regular heartbeats from making phi jump at the first small delay.
+   */
+  HeartbeatHistory(int maxSize, long minStdDeviation) {
+    this.intervals = new long[maxSize];
+    this.minStdDeviation = Math.max(1, minStdDeviation);
+  }
+
+  /**
+   * Record the arrival of a heartbeat at the given time
+   */
+  synchronized void heartbeatReceived(long timeStamp) {
+    long last = this.lastHeartbeat;
+    if (timeStamp <= last) {
+      return;
+    }
+    this.lastHeartbeat = timeStamp;
+    if (last == 0) {
+      return;
+    }
+    long interval = timeStamp - last;
+    if (this.size == this.intervals.length) {
+      long dropped = this.intervals[this.next];
+      this.intervalSum -= dropped;
+      this.squaredIntervalSum -= dropped * dropped;
+    } else {
+      this.size++;
+    }
+    this.intervals[this.next] = interval;
+    this.intervalSum += interval;
+    this.squaredIntervalSum += interval * interval;
+    this.next = (this.next + 1) % this.intervals.length;
+  }
+
+  /**
+   * Returns the number of inter-arrival times in the window
+   */
+  synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the time at which the last heartbeat was received, or zero if there hasn't been one
+   */
+  synchronized long getLastHeartbeat() {
+    return this.lastHeartbeat;
+  }
+
+  synchronized double getMean() {
+    return this.size == 0 ? 0 : (double) this.intervalSum / this.size;
+  }
+
+  synchronized double getStdDeviation() {
+    if (this.size == 0) {
+      return this.minStdDeviation;
+    }
+    double mean = getMean();
+    double variance = ((double) this.squaredIntervalSum / this.size) - (mean * mean);
+    return Math.max(this.minStdDeviation, Math.sqrt(Math.max(0, variance)));
+  }
+
+  /**
+   * Returns the suspicion level of the member after the given number of millis without hearing from
+   * it, or zero if there is no history yet
+   */
+  synchronized double phi(long elapsed) {
+    if (this.size == 0) {
+      return 0;
+    }
+    return phi(elapsed, getMean(), getStdDeviation());
+  }
+
+  /**
+   * Computes phi using a logistic approximation of the normal cumulative distribution function
+   */
+  static double phi(long elapsed, double mean, double stdDeviation) {
+    double y = (elapsed - mean) / stdDeviation;
+    double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+    if (elapsed > mean) {
+      return -Math.log10(e / (1.0 + e));
+    } else {
+      return -Math.log10(1.0 - 1.0 / (1.0 + e));
+    }
+  }
+}
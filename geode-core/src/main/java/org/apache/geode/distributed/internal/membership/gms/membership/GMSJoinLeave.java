@@ -188,6 +188,11 @@ public class GMSJoinLeave implements JoinLeave, MessageHandler {
    */
   long requestCollectionInterval = MEMBER_REQUEST_COLLECTION_INTERVAL;
 
+  /**
+   * the longest that requests are collected for a single view while join requests keep arriving
+   */
+  long maxRequestCollectionInterval = MEMBER_REQUEST_MAX_COLLECTION_INTERVAL;
+
   /**
    * collects the response to a join request
    */
@@ -2057,12 +2062,28 @@ public class GMSJoinLeave implements JoinLeave, MessageHandler {
       }
     }
 
+    /**
+     * returns the number of join requests waiting to be put in a view. The caller must hold the
+     * viewRequests lock
+     */
+    private int countJoinRequests() {
+      int count = 0;
+      for (DistributionMessage msg : viewRequests) {
+        if (msg instanceof JoinRequestMessage) {
+          count++;
+        }
+      }
+      return count;
+    }
+
     @Override
     public void run() {
       List<DistributionMessage> requests = null;
       logger.info("View Creator thread is starting");
       sendInitialView();
       long okayToCreateView = System.currentTimeMillis() + requestCollectionInterval;
+      long collectionStarted = System.currentTimeMillis();
+      int joinsAtLastCheck = 0;
       try {
         for (;;) {
           synchronized (viewRequests) {
@@ -2087,10 +2108,14 @@ public class GMSJoinLeave implements JoinLeave, MessageHandler {
                 // concurrent startup / shutdown of multiple members is
                 // a common occurrence
                 okayToCreateView = System.currentTimeMillis() + requestCollectionInterval;
+                collectionStarted = System.currentTimeMillis();
+                joinsAtLastCheck = countJoinRequests();
                 continue;
               }
             } else {
-              if (System.currentTimeMillis() < okayToCreateView) {
+              long now = System.currentTimeMillis();
+              int joins;
+              if (now < okayToCreateView) {
                 // sleep to let more requests arrive
                 try {
                   viewRequests.wait(100);
@@ -2098,6 +2123,16 @@ public class GMSJoinLeave implements JoinLeave, MessageHandler {
                 } catch (InterruptedException e) {
                   return;
                 }
+              } else if ((joins = countJoinRequests()) > joinsAtLastCheck
+                  && joins == viewRequests.size()
+                  && now < collectionStarted
+                      + Math.max(maxRequestCollectionInterval, requestCollectionInterval)) {
+                // members are still joining, as in a mass startup. Let them all join in one
+                // view rather than preparing and installing a view for each few of them.
+                // Departures and removals are never held up this way.
+                joinsAtLastCheck = joins;
+                okayToCreateView = now + requestCollectionInterval;
+                continue;
               } else {
                 // time to create a new membership view
                 if (requests == null) {
@@ -2107,6 +2142,8 @@ public class GMSJoinLeave implements JoinLeave, MessageHandler {
                 }
                 viewRequests.clear();
                 okayToCreateView = System.currentTimeMillis() + requestCollectionInterval;
+                collectionStarted = System.currentTimeMillis();
+                joinsAtLastCheck = 0;
               }
             }
           } // synchronized
@@ -53,11 +53,19 @@ import joptsimple.internal.Strings;
 public abstract class AbstractDiskRegion implements DiskRegionView {
   private static final Logger logger = LogService.getLogger();
 
+  /**
+   * Largest capacity getRecoveryInitialCapacity will ask for. An entry count hint that counts
+   * entries more than once should not make us allocate a huge table.
+   */
+  private static final int MAX_RECOVERY_INITIAL_CAPACITY = 1 << 26;
+
   ////////////////////// Instance Fields ///////////////////////
 
   private final DiskStoreImpl ds;
   private final long id;
   private long clearOplogEntryId = DiskStoreImpl.INVALID_ID;
+  /** number of entries the region is expected to recover; 0 if unknown. Never persisted. */
+  private volatile long entryCountHint = 0;
   private RegionVersionVector clearRVV;
   private byte lruAlgorithm;
   private byte lruAction;
@@ -113,6 +121,7 @@ public abstract class AbstractDiskRegion implements DiskRegionView {
       this.id = drv.getId();
       this.backup = drv.isBackup();
       this.clearOplogEntryId = drv.getClearOplogEntryId();
+      this.entryCountHint = drv.getEntryCountHint();
       this.clearRVV = drv.getClearRVV();
       this.lruAlgorithm = drv.getLruAlgorithm();
       this.lruAction = drv.getLruAction();
@@ -202,6 +211,7 @@ public abstract class AbstractDiskRegion implements DiskRegionView {
     this.id = drv.getId();
     this.backup = drv.isBackup();
     this.clearOplogEntryId = drv.getClearOplogEntryId();
+    this.entryCountHint = drv.getEntryCountHint();
     this.clearRVV = drv.getClearRVV();
     this.lruAlgorithm = drv.getLruAlgorithm();
     this.lruAction = drv.getLruAction();
@@ -261,6 +271,30 @@ public abstract class AbstractDiskRegion implements DiskRegionView {
     this.clearOplogEntryId = v;
   }
 
+  public long getEntryCountHint() {
+    return this.entryCountHint;
+  }
+
+  public void setEntryCountHint(long v) {
+    this.entryCountHint = v;
+  }
+
+  /**
+   * Returns the capacity the region map should be created with. If we know about how many entries
+   * the region will recover the map is made big enough to recover them without resizing.
+   */
+  public int getRecoveryInitialCapacity(int initialCapacity, float loadFactor) {
+    long count = this.entryCountHint;
+    if (count <= 0 || loadFactor <= 0) {
+      return initialCapacity;
+    }
+    long needed = (long) (count / loadFactor) + 1;
+    if (needed > MAX_RECOVERY_INITIAL_CAPACITY) {
+      needed = MAX_RECOVERY_INITIAL_CAPACITY;
+    }
+    return Math.max(initialCapacity, (int) needed);
+  }
+
   public RegionVersionVector getClearRVV() {
     return this.clearRVV;
   }
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+
+/**
+ * Used when recovering a crf or drf. Until {@link #startBlocks} is called this stream just passes
+ * bytes through. After that every byte read or skipped is added to a CRC32 of the current block so
+ * that recovery can compare it with the checksum stored at the end of each block of an oplog
+ * written in the checksummed block format.
+ *
+ * @since Geode 1.1
+ */
+class BlockChecksumInputStream extends FilterInputStream {
+
+  private CRC32 checksum;
+
+  private long blockLength;
+
+  private byte[] skipBuffer;
+
+  BlockChecksumInputStream(InputStream in) {
+    super(in);
+  }
+
+  /**
+   * Starts checksumming. The first block begins with the next byte read.
+   */
+  void startBlocks() {
+    this.checksum = new CRC32();
+    this.blockLength = 0;
+  }
+
+  boolean isBlockFormat() {
+    return this.checksum != null;
+  }
+
+  /**
+   * Returns the number of bytes read since the current block started.
+   */
+  long getBlockLength() {
+    return this.blockLength;
+  }
+
+  /**
+   * Returns the CRC32 of the bytes read since the current block started.
+   */
+  long getBlockChecksum() {
+    return this.checksum == null ? 0 : this.checksum.getValue();
+  }
+
+  /**
+   * Starts a new block with the next byte read.
+   */
+  void resetBlock() {
+    if (this.checksum != null) {
+      this.checksum.reset();
+      this.blockLength = 0;
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    int b = this.in.read();
+    if (b != -1 && this.checksum != null) {
+      this.checksum.update(b);
+      this.blockLength++;
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int result = this.in.read(b, off, len);
+    if (result > 0 && this.checksum != null) {
+      this.checksum.update(b, off, result);
+      this.blockLength += result;
+    }
+    return result;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (this.checksum == null) {
+      return this.in.skip(n);
+    }
+    // skipped bytes still belong to the block so they need to be read
+    if (this.skipBuffer == null) {
+      this.skipBuffer = new byte[8192];
+    }
+    long remaining = n;
+    while (remaining > 0) {
+      int bytesRead = read(this.skipBuffer, 0, (int) Math.min(this.skipBuffer.length, remaining));
+      if (bytesRead < 0) {
+        break;
+      }
+      remaining -= bytesRead;
+    }
+    return n - remaining;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public synchronized void mark(int readlimit) {
+    // not supported since a reset would corrupt the checksum
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    throw new IOException("mark/reset not supported");
+  }
+}
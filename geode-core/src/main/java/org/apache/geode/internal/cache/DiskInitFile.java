@@ -494,6 +494,22 @@ public class DiskInitFile implements DiskInitFileInterpreter {
     return result;
   }
 
+  /**
+   * Adds entries read from a krf to the entry count hint of a region that is not being recovered
+   * yet, so that its region map can be sized when it is created.
+   */
+  void addKrfEntriesToEntryCountHint(long drId, long entryCount) {
+    lock.lock();
+    try {
+      DiskRegionView drv = getDiskRegionById(drId);
+      if (drv != null) {
+        drv.setEntryCountHint(drv.getEntryCountHint() + entryCount);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public void cmnClearRegion(long drId, long clearOplogEntryId) {
     DiskRegionView drv = getDiskRegionById(drId);
     if (drv.getClearOplogEntryId() == DiskStoreImpl.INVALID_ID) {
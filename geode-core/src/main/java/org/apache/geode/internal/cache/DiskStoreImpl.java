@@ -183,6 +183,32 @@ public class DiskStoreImpl implements DiskStore {
       !System.getProperty(DistributionConfig.GEMFIRE_PREFIX + "preAllocateDisk", "true")
           .equalsIgnoreCase("false");
 
+  /**
+   * This system property sets the size, in bytes, of the blocks that new crf and drf files are
+   * written in. Each block is followed by a record holding the CRC32 of its bytes, which recovery
+   * verifies. Zero, the default, writes the unblocked format that older releases can read.
+   */
+  static final int OPLOG_CHECKSUM_BLOCK_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.checksumBlockSize", 0);
+
+  /**
+   * This system property indicates that once a checksummed oplog block has been written its pages
+   * should be dropped from the OS page cache, so that persistent writes do not evict data being
+   * faulted in. Only has an effect if OPLOG_CHECKSUM_BLOCK_SIZE is set and the platform supports
+   * it.
+   */
+  static final boolean UNCACHED_OPLOG_WRITES =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "disk.uncachedOplogWrites");
+
+  /**
+   * This system property sets how many overflow oplogs are appended to concurrently. Each write
+   * stripe starts in its own disk directory and entries are spread over the stripes by hash, so
+   * setting this to the number of disk directories lets overflow writes use all of the devices at
+   * once instead of one at a time. Defaults to 1.
+   */
+  static final int OVERFLOW_WRITE_STRIPES =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.overflowWriteStripes", 1);
+
   /**
    * For some testing purposes we would not consider top property if this flag is set to true
    **/
@@ -2369,6 +2395,8 @@ public class DiskStoreImpl implements DiskStore {
   private void basicClose(LocalRegion region, DiskRegion dr, boolean closeDataOnly) {
     if (dr.isBackup()) {
       if (region != null) {
+        // remember how many entries we had so that reopening the region can size its map
+        dr.setEntryCountHint(dr.getNumEntriesInVM() + dr.getNumOverflowOnDisk());
         region.closeEntries();
       }
       if (!closeDataOnly) {
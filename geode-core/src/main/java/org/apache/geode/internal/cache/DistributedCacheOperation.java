@@ -44,6 +44,7 @@ import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.query.internal.cq.ServerCQ;
 import org.apache.geode.distributed.internal.DM;
 import org.apache.geode.distributed.internal.DirectReplyProcessor;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.DistributionManager;
 import org.apache.geode.distributed.internal.DistributionMessage;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
@@ -91,6 +92,28 @@ public abstract class DistributedCacheOperation {
 
   public static long SLOW_DISTRIBUTION_MS = 0; // test hook
 
+  /**
+   * The fewest peers a multicast-enabled region must have before its operations are sent by
+   * multicast. Regions with fewer peers send their operations over the point-to-point connections,
+   * which are cheaper than multicast retransmission when only a handful of members need them.
+   * <p>
+   * The choice is made from the region's membership, not from each operation's recipients, so
+   * all operations on a region use the same channel until the region's membership changes.
+   * Choosing per operation would let a later update overtake an earlier one on the other channel.
+   * 
+   * @since Geode 1.1
+   */
+  static final int MIN_MULTICAST_RECIPIENTS = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "DistributedCacheOperation.minMulticastRecipients", 0);
+
+  /**
+   * Returns true if a multicast-enabled region with numPeers peers should send by multicast, given
+   * the MIN_MULTICAST_RECIPIENTS setting minRecipients.
+   */
+  static boolean hasEnoughPeersForMulticast(int numPeers, int minRecipients) {
+    return minRecipients <= 0 || numPeers >= minRecipients;
+  }
+
   // constants used in subclasses and distribution messages
   // should use enum in source level 1.5+
   /**
@@ -404,6 +427,11 @@ public abstract class DistributedCacheOperation {
           }
         }
 
+        if (useMulticast && !hasEnoughPeersForMulticast(
+            region.getDistributionAdvisor().getNumProfiles(), MIN_MULTICAST_RECIPIENTS)) {
+          useMulticast = false;
+        }
+
         if (logger.isDebugEnabled()) {
           logger.debug("recipients for {}: {} with adjunct messages to: {}", this, recipients,
               adjunctRecipients);
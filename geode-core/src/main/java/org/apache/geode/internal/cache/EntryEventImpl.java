@@ -1154,6 +1154,11 @@ public class EntryEventImpl
 
   /**
    * Export the event's new value to the given importer.
+   * <p>
+   * Importers that need bytes, such as client update messages, share the serialized form cached on
+   * this event. Peer messages (UpdateOperation, PutMessage and RemotePutMessage) accept an
+   * unretained reference, so they take the cached bytes only when an earlier importer already
+   * produced them. Otherwise they import the object and serialize it when the message is written.
    */
   public final void exportNewValue(NewValueImporter importer) {
     final boolean prefersSerialized = importer.prefersNewSerialized();
@@ -1191,9 +1196,21 @@ public class EntryEventImpl
       if (cdV instanceof byte[]) {
         importer.importNewBytes((byte[]) cdV, true);
         setCachedSerializedNewValue((byte[]) cdV);
+      } else if (prefersSerialized && !importer.isUnretainedNewReferenceOk()) {
+        byte[] bytes = cd.getSerializedValue();
+        importer.importNewBytes(bytes, true);
+        setCachedSerializedNewValue(bytes);
       } else {
         importer.importNewObject(cdV, true);
       }
+    } else if (prefersSerialized && !importer.isUnretainedNewReferenceOk() && nv != null
+        && !(nv instanceof Token)) {
+      // The importer would serialize the object itself. Do it here instead so that any other
+      // importer of this event (for example other client queues or a gateway sender) can share
+      // the same bytes instead of serializing again.
+      byte[] bytes = serialize(nv);
+      importer.importNewBytes(bytes, true);
+      setCachedSerializedNewValue(bytes);
     } else {
       importer.importNewObject(nv, true);
     }
@@ -52,8 +52,10 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Handles requests for an initial image from a cache peer
@@ -124,6 +126,12 @@ public class InitialImageOperation {
    */
   protected volatile boolean isDeltaGII = false;
 
+  /**
+   * number of bytes of image chunks received from the current recipient, used to report
+   * throughput when the image is complete
+   */
+  private final AtomicLong bytesReceived = new AtomicLong();
+
   /**
    * for testing purposes
    */
@@ -236,6 +244,8 @@ public class InitialImageOperation {
       // if we got a partial image from the previous recipient, then clear it
 
       InternalDistributedMember recipient = (InternalDistributedMember) itr.next();
+      this.bytesReceived.set(0);
+      final long recipientStart = System.nanoTime();
 
       // In case of HARegion, before getting the region snapshot(image) get the filters
       // registered by the associated client and apply them.
@@ -520,8 +530,13 @@ public class InitialImageOperation {
           }
           if (this.gotImage) {
             // TODO add localizedString
-            logger.info("{} is done getting image from {}. isDeltaGII is {}", this.region.getName(),
-                recipient, this.isDeltaGII);
+            long elapsedNanos = Math.max(1, System.nanoTime() - recipientStart);
+            long bytes = this.bytesReceived.get();
+            logger.info(
+                "{} is done getting image from {}. isDeltaGII is {}. Received {} bytes in {} ms ({} MB/s)",
+                this.region.getName(), recipient, this.isDeltaGII, bytes,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.2f", (bytes / (1024.0 * 1024.0)) / (elapsedNanos / 1.0e9)));
           } else {
             // TODO add localizedString
             logger.info("{} failed to get image from {}", this.region.getName(), recipient);
@@ -1248,6 +1263,8 @@ public class InitialImageOperation {
                   this.abort = true; // volatile store
                 } else {
                   this.recievedChunk = true;
+                  bytesReceived.addAndGet(m.getBytesRead());
+                  region.getCachePerfStats().incGetInitialImageBytesReceived(m.getBytesRead());
                 }
               }
               isLast = trackMessage(m); // interpret series/msgNum
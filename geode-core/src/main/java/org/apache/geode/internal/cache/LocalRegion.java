@@ -655,6 +655,10 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       ma.statisticsEnabled = this.statisticsEnabled;
       ma.loadFactor = this.loadFactor;
       ma.initialCapacity = this.initialCapacity;
+      if (this.diskRegion != null) {
+        ma.initialCapacity =
+            this.diskRegion.getRecoveryInitialCapacity(this.initialCapacity, this.loadFactor);
+      }
       ma.concurrencyLevel = this.concurrencyLevel;
       result = RegionMapFactory.createVM(this, ma, internalRegionArgs);
     }
@@ -11412,6 +11416,12 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       this.cachePerfStats.incGetInitialImageKeysReceived();
     }
 
+    @Override
+    public void incGetInitialImageBytesReceived(long bytes) {
+      stats.incLong(getInitialImageBytesReceivedId, bytes);
+      this.cachePerfStats.incGetInitialImageBytesReceived(bytes);
+    }
+
     @Override
     public long startIndexUpdate() {
       stats.incInt(indexUpdateInProgressId, 1);
@@ -66,6 +66,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
 
 /**
  * Implements an operation log to write to disk. As of prPersistSprint2 this file only supports
@@ -475,6 +476,25 @@ public final class Oplog implements CompactableOplog, Flushable {
 
   public static final int OPLOG_MAGIC_SEQ_REC_SIZE = 1 + OPLOG_TYPE.getLen() + 1;
 
+  /**
+   * Written to CRF and DRF after the disk store record if the oplog uses the checksummed block
+   * format. Every byte following this record belongs to a block that is ended by an
+   * OPLOG_BLOCK_CHECKSUM_ID record. Byte Format 4: block size EndOfRecord
+   *
+   * @since Geode 1.1
+   */
+  private static final byte OPLOG_BLOCK_FORMAT_ID = 93;
+  static final int OPLOG_BLOCK_FORMAT_REC_SIZE = 1 + 4 + 1;
+
+  /**
+   * Ends a block of a CRF or DRF written in the checksummed block format. Byte Format 4: number of
+   * bytes in the block, including this opcode 4: CRC32 of those bytes EndOfRecord
+   *
+   * @since Geode 1.1
+   */
+  private static final byte OPLOG_BLOCK_CHECKSUM_ID = 94;
+  static final int OPLOG_BLOCK_CHECKSUM_REC_SIZE = 1 + 4 + 4 + 1;
+
   /** Compact this oplogs or no. A client configurable property * */
   private final boolean compactOplogs;
 
@@ -695,6 +715,121 @@ public final class Oplog implements CompactableOplog, Flushable {
     this.dirHolder.incrementTotalOplogSize(getOpStateSize());
   }
 
+  /**
+   * If the checksummed block format is configured write the record that announces it and start
+   * computing the checksum of the first block.
+   */
+  private void writeBlockFormatRecord(OplogFile olf) throws IOException {
+    if (DiskStoreImpl.OPLOG_CHECKSUM_BLOCK_SIZE <= 0) {
+      return;
+    }
+    synchronized (this.lock/* olf */) {
+      ByteBuffer bb = ByteBuffer.allocate(OPLOG_BLOCK_FORMAT_REC_SIZE);
+      bb.put(OPLOG_BLOCK_FORMAT_ID);
+      bb.putInt(DiskStoreImpl.OPLOG_CHECKSUM_BLOCK_SIZE);
+      bb.put(END_OF_RECORD_ID);
+      bb.flip();
+      writeRecordDirect(olf, bb);
+      olf.blockChecksum = new CRC32();
+      olf.blockBytes = 0;
+    }
+  }
+
+  /**
+   * Ends the current block of the given file by writing the checksum of the bytes written since the
+   * previous block. Must only be called between records. The caller must hold this.lock.
+   */
+  private void sealBlock(OplogFile olf) throws IOException {
+    if (olf.blockChecksum == null || olf.RAFClosed) {
+      return;
+    }
+    flush(olf, false);
+    if (olf.blockBytes == 0) {
+      return;
+    }
+    // the opcode is included in the block so recovery can verify it as soon as it is read
+    olf.blockChecksum.update(OPLOG_BLOCK_CHECKSUM_ID);
+    ByteBuffer bb = ByteBuffer.allocate(OPLOG_BLOCK_CHECKSUM_REC_SIZE);
+    bb.put(OPLOG_BLOCK_CHECKSUM_ID);
+    bb.putInt((int) (olf.blockBytes + 1));
+    bb.putInt((int) olf.blockChecksum.getValue());
+    bb.put(END_OF_RECORD_ID);
+    bb.flip();
+    writeRecordDirect(olf, bb);
+    olf.blockChecksum.reset();
+    olf.blockBytes = 0;
+    if (DiskStoreImpl.UNCACHED_OPLOG_WRITES) {
+      uncacheSealedBlocks(olf);
+    }
+  }
+
+  /**
+   * Starts writing back the block that was just sealed and drops the block before it, whose
+   * writeback was started when it was sealed, from the page cache. Both are done on the delayed
+   * write thread so that writers holding this.lock do not wait for the device.
+   */
+  private void uncacheSealedBlocks(OplogFile olf) {
+    final String path = olf.f.getAbsolutePath();
+    final long dropStart = olf.uncachedOffset;
+    final long writeStart = olf.sealedOffset;
+    final long writeEnd = olf.bytesFlushed;
+    olf.uncachedOffset = writeStart;
+    olf.sealedOffset = writeEnd;
+    getParent().executeDelayedExpensiveWrite(new Runnable() {
+      public void run() {
+        NativeCalls nativeCalls = NativeCalls.getInstance();
+        if (writeEnd > writeStart) {
+          nativeCalls.startFileWriteback(path, writeStart, writeEnd - writeStart);
+        }
+        if (writeStart > dropStart) {
+          nativeCalls.dropFileCache(path, dropStart, writeStart - dropStart);
+        }
+      }
+    });
+  }
+
+  /**
+   * Seals the current blocks of both the crf and drf.
+   */
+  private void sealBlocks() {
+    synchronized (this.lock) {
+      try {
+        sealBlock(this.drf);
+        sealBlock(this.crf);
+      } catch (ClosedChannelException ignore) {
+        // see flush(OplogFile, boolean)
+      } catch (IOException ex) {
+        getParent().getCancelCriterion().checkCancelInProgress(ex);
+        throw new DiskAccessException(
+            LocalizedStrings.Oplog_FAILED_WRITING_KEY_TO_0.toLocalizedString(this.diskFile.getPath()),
+            ex, getParent());
+      }
+    }
+  }
+
+  /**
+   * Writes a small record that does not go through the write buffer. Any buffered bytes are
+   * flushed first so that the record ends up after them.
+   */
+  private void writeRecordDirect(OplogFile olf, ByteBuffer bb) throws IOException {
+    flush(olf, false);
+    int written = 0;
+    do {
+      written += olf.channel.write(bb);
+    } while (bb.hasRemaining());
+    olf.bytesFlushed += written;
+    olf.currSize += written;
+    this.dirHolder.incrementTotalOplogSize(written);
+  }
+
+  private static void updateBlockChecksum(OplogFile olf, ByteBuffer bb) {
+    if (olf.blockChecksum != null && bb != null && bb.hasRemaining()) {
+      ByteBuffer dup = bb.duplicate();
+      olf.blockBytes += dup.remaining();
+      olf.blockChecksum.update(dup);
+    }
+  }
+
   private void writeGemfireVersionRecord(OplogFile olf) throws IOException {
     if (this.gfversion == null) {
       this.gfversion = Version.CURRENT;
@@ -1057,6 +1192,7 @@ public final class Oplog implements CompactableOplog, Flushable {
 
     this.stats.incOpenOplogs();
     writeDiskStoreRecord(this.crf, OPLOG_TYPE.CRF);
+    writeBlockFormatRecord(this.crf);
     writeGemfireVersionRecord(this.crf);
     writeRVVRecord(this.crf, false);
 
@@ -1097,6 +1233,7 @@ public final class Oplog implements CompactableOplog, Flushable {
         new Object[] {toString(), getFileType(this.drf), getParent().getName()}));
     this.drf.channel = this.drf.raf.getChannel();
     writeDiskStoreRecord(this.drf, OPLOG_TYPE.DRF);
+    writeBlockFormatRecord(this.drf);
     writeGemfireVersionRecord(this.drf);
     writeRVVRecord(this.drf, true);
   }
@@ -1488,8 +1625,9 @@ public final class Oplog implements CompactableOplog, Flushable {
         FileInputStream fis = null;
         try {
           fis = new FileInputStream(drfFile);
-          dis = new CountingDataInputStream(new BufferedInputStream(fis, 32 * 1024),
-              drfFile.length());
+          BlockChecksumInputStream cis =
+              new BlockChecksumInputStream(new BufferedInputStream(fis, 32 * 1024));
+          dis = new CountingDataInputStream(cis, drfFile.length());
           boolean endOfLog = false;
           while (!endOfLog) {
             if (dis.atEndOfFile()) {
@@ -1527,6 +1665,12 @@ public final class Oplog implements CompactableOplog, Flushable {
               case OPLOG_MAGIC_SEQ_ID:
                 readOplogMagicSeqRecord(dis, this.drf.f, OPLOG_TYPE.DRF);
                 break;
+              case OPLOG_BLOCK_FORMAT_ID:
+                readBlockFormatRecord(dis, cis);
+                break;
+              case OPLOG_BLOCK_CHECKSUM_ID:
+                readBlockChecksumRecord(dis, cis, this.drf.f);
+                break;
               case OPLOG_GEMFIRE_VERSION:
                 readGemfireVersionRecord(dis, this.drf.f);
                 recordCount++;
@@ -1677,6 +1821,11 @@ public final class Oplog implements CompactableOplog, Flushable {
       this.recoverModEntryIdHWM = DiskStoreImpl.INVALID_ID;
       long oplogKeyIdHWM = DiskStoreImpl.INVALID_ID;
       int krfEntryCount = 0;
+      // On the first pass over the oplogs no region has been created yet, so count the live
+      // entries of each region to size its map when it is created. An entry modified after its
+      // oplog was last rolled can be in more than one krf, so this is only a hint.
+      final boolean countEntries = !getOplogSet().alreadyRecoveredOnce.get();
+      final Map<Long, Long> entryCountHints = new HashMap<Long, Long>();
       DataInputStream dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
       final Version version = getProductVersionIfOld();
       final ByteArrayDataInput in = new ByteArrayDataInput();
@@ -1754,6 +1903,10 @@ public final class Oplog implements CompactableOplog, Flushable {
                   "readNewEntry skipping oplogKeyId=<{}> drId={} userBits={} oplogOffset={} valueLen={}",
                   oplogKeyId, drId, userBits, oplogOffset, valueLength);
             }
+            if (countEntries && drs == null && !deletedIds.contains(oplogKeyId)) {
+              Long count = entryCountHints.get(drId);
+              entryCountHints.put(drId, count == null ? 1L : count + 1);
+            }
             this.stats.incRecoveryRecordsSkipped();
             incSkipped();
           } else {
@@ -1803,6 +1956,9 @@ public final class Oplog implements CompactableOplog, Flushable {
           keyBytes = DataSerializer.readByteArray(dis);
         } // while
         setRecoverNewEntryId(oplogKeyIdHWM);
+        for (Map.Entry<Long, Long> e : entryCountHints.entrySet()) {
+          getParent().getDiskInitFile().addKrfEntriesToEntryCountHint(e.getKey(), e.getValue());
+        }
       } catch (IOException ex) {
         try {
           fis.close();
@@ -1870,8 +2026,9 @@ public final class Oplog implements CompactableOplog, Flushable {
       FileInputStream fis = null;
       try {
         fis = new FileInputStream(this.crf.f);
-        dis = new CountingDataInputStream(new BufferedInputStream(fis, 1024 * 1024),
-            this.crf.f.length());
+        BlockChecksumInputStream cis =
+            new BlockChecksumInputStream(new BufferedInputStream(fis, 1024 * 1024));
+        dis = new CountingDataInputStream(cis, this.crf.f.length());
         boolean endOfLog = false;
         while (!endOfLog) {
           // long startPosition = byteCount;
@@ -1941,6 +2098,12 @@ public final class Oplog implements CompactableOplog, Flushable {
             case OPLOG_MAGIC_SEQ_ID:
               readOplogMagicSeqRecord(dis, this.crf.f, OPLOG_TYPE.CRF);
               break;
+            case OPLOG_BLOCK_FORMAT_ID:
+              readBlockFormatRecord(dis, cis);
+              break;
+            case OPLOG_BLOCK_CHECKSUM_ID:
+              readBlockChecksumRecord(dis, cis, this.crf.f);
+              break;
             case OPLOG_GEMFIRE_VERSION:
               readGemfireVersionRecord(dis, this.crf.f);
               recordCount++;
@@ -2068,6 +2231,40 @@ public final class Oplog implements CompactableOplog, Flushable {
     readEndOfRecord(dis);
   }
 
+  /**
+   * Reads the record announcing the checksummed block format and starts checksumming the first
+   * block.
+   */
+  private void readBlockFormatRecord(DataInput dis, BlockChecksumInputStream cis)
+      throws IOException {
+    int blockSize = dis.readInt();
+    readEndOfRecord(dis);
+    if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY)) {
+      logger.trace(LogMarker.PERSIST_RECOVERY, "oplog written in blocks of {} bytes", blockSize);
+    }
+    cis.startBlocks();
+  }
+
+  /**
+   * Compares the checksum stored at the end of a block with the one computed while reading it.
+   */
+  private void readBlockChecksumRecord(CountingDataInputStream dis, BlockChecksumInputStream cis,
+      File f) throws IOException {
+    // the opcode has already been read and is part of the block
+    long computedLength = cis.getBlockLength();
+    int computedChecksum = (int) cis.getBlockChecksum();
+    int blockLength = dis.readInt();
+    int checksum = dis.readInt();
+    readEndOfRecord(dis);
+    if (!cis.isBlockFormat() || blockLength != computedLength || checksum != computedChecksum) {
+      throw new DiskAccessException("The oplog file \"" + f + "\" is corrupt. The block ending at "
+          + (dis.getCount() - OPLOG_BLOCK_CHECKSUM_REC_SIZE) + " has length " + computedLength
+          + " and checksum " + computedChecksum + " but expected length " + blockLength
+          + " and checksum " + checksum, getParent());
+    }
+    cis.resetBlock();
+  }
+
   /**
    * @throws DiskAccessException if this file does not belong to our parent
    */
@@ -3296,6 +3493,9 @@ public final class Oplog implements CompactableOplog, Flushable {
   private void basicClose(boolean forceDelete) {
     flushAll();
     synchronized (this.lock/* crf */) {
+      if (!this.doneAppending) {
+        sealBlocks();
+      }
       unpreblow(this.crf, getMaxCrfSize());
       if (!this.crf.RAFClosed) {
         try {
@@ -5177,6 +5377,7 @@ public final class Oplog implements CompactableOplog, Flushable {
         ByteBuffer bb = olf.writeBuf;
         if (bb != null && bb.position() != 0) {
           bb.flip();
+          updateBlockChecksum(olf, bb);
           int flushed = 0;
           do {
             flushed += olf.channel.write(bb);
@@ -5211,6 +5412,8 @@ public final class Oplog implements CompactableOplog, Flushable {
         this.bbArray[0] = b1;
         this.bbArray[1] = b2;
         b1.flip();
+        updateBlockChecksum(olf, b1);
+        updateBlockChecksum(olf, b2);
         long flushed = olf.channel.write(this.bbArray);
         this.bbArray[0] = null;
         this.bbArray[1] = null;
@@ -5293,6 +5496,10 @@ public final class Oplog implements CompactableOplog, Flushable {
       if (!async && doFlushIfSync) {
         flushAndSync(olf);
       }
+      if (olf.blockChecksum != null && olf.blockBytes
+          + olf.writeBuf.position() >= DiskStoreImpl.OPLOG_CHECKSUM_BLOCK_SIZE) {
+        sealBlock(olf);
+      }
       getStats().incWrittenBytes(bytesWritten, async);
 
       // // Moved the set of lastWritePos to after write
@@ -5828,6 +6035,7 @@ public final class Oplog implements CompactableOplog, Flushable {
 
   private void finishedAppending() {
     synchronized (this.lock/* crf */) {
+      sealBlocks();
       this.doneAppending = true;
     }
     handleNoLiveValues();
@@ -6379,6 +6587,14 @@ public final class Oplog implements CompactableOplog, Flushable {
     public long currSize;
     public long bytesFlushed;
     public boolean unpreblown;
+    /** CRC32 of the current block; null unless the checksummed block format is being written */
+    public CRC32 blockChecksum;
+    /** number of bytes flushed to the current block */
+    public long blockBytes;
+    /** offset at which the last sealed block ended */
+    public long sealedOffset;
+    /** offset below which written pages have been dropped from the page cache */
+    public long uncachedOffset;
   }
 
   private static class KRFile {
@@ -149,8 +149,10 @@ class OverflowOplog implements CompactableOplog, Flushable {
    * 
    * @param oplogId integer identifying the new oplog
    * @param dirHolder The directory in which to create new Oplog
+   * @param previous the oplog this one replaces as the active oplog of its write stripe
    */
-  OverflowOplog(int oplogId, OverflowOplogSet parent, DirectoryHolder dirHolder, long minSize) {
+  OverflowOplog(int oplogId, OverflowOplogSet parent, DirectoryHolder dirHolder, long minSize,
+      OverflowOplog previous) {
     this.oplogId = oplogId;
     this.parent = parent.getParent();
     this.oplogSet = parent;
@@ -180,7 +182,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
     String n = this.parent.getName();
     this.diskFile = new File(this.dirHolder.getDir(), "OVERFLOW" + n + "_" + oplogId);
     try {
-      createCrf(parent.getActiveOverflowOplog());
+      createCrf(previous);
     } catch (IOException ex) {
       throw new DiskAccessException(
           LocalizedStrings.Oplog_FAILED_CREATING_OPERATION_LOG_BECAUSE_0.toLocalizedString(ex),
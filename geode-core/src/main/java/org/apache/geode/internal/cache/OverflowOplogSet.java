@@ -37,7 +37,19 @@ public class OverflowOplogSet implements OplogSet {
   private static final Logger logger = LogService.getLogger();
 
   private final AtomicInteger overflowOplogId = new AtomicInteger(0);
-  private OverflowOplog lastOverflowWrite = null;
+
+  /**
+   * The oplogs currently being appended to, one per write stripe. Each stripe prefers its own disk
+   * directory so that, when DiskStoreImpl.OVERFLOW_WRITE_STRIPES is set to the number of
+   * directories, overflow writes are spread over all of them concurrently.
+   */
+  private final OverflowOplog[] lastOverflowWrites;
+
+  /**
+   * Serializes writes to each stripe. With a single stripe this is the overflowMap, as it always
+   * was.
+   */
+  private final Object[] stripeLocks;
   private final ConcurrentMap<Integer, OverflowOplog> overflowMap =
       new ConcurrentHashMap<Integer, OverflowOplog>();
   private final Map<Integer, OverflowOplog> compactableOverflowMap =
@@ -49,26 +61,42 @@ public class OverflowOplogSet implements OplogSet {
 
   public OverflowOplogSet(DiskStoreImpl parent) {
     this.parent = parent;
+    int stripes = Math.max(1, DiskStoreImpl.OVERFLOW_WRITE_STRIPES);
+    this.lastOverflowWrites = new OverflowOplog[stripes];
+    this.stripeLocks = new Object[stripes];
+    this.stripeLocks[0] = this.overflowMap;
+    for (int i = 1; i < stripes; i++) {
+      this.stripeLocks[i] = new Object();
+    }
   }
 
-
-  OverflowOplog getActiveOverflowOplog() {
-    return this.lastOverflowWrite;
+  /**
+   * Returns the stripe the given entry is written to. An entry always uses the same stripe.
+   */
+  int getStripe(DiskEntry entry) {
+    if (this.lastOverflowWrites.length == 1) {
+      return 0;
+    }
+    int h = System.identityHashCode(entry);
+    h ^= (h >>> 16);
+    return (h & 0x7fffffff) % this.lastOverflowWrites.length;
   }
 
   @Override
   public final void modify(LocalRegion lr, DiskEntry entry, ValueWrapper value, boolean async) {
     DiskRegion dr = lr.getDiskRegion();
-    synchronized (this.overflowMap) {
-      if (this.lastOverflowWrite != null) {
-        if (this.lastOverflowWrite.modify(dr, entry, value, async)) {
+    int stripe = getStripe(entry);
+    synchronized (this.stripeLocks[stripe]) {
+      OverflowOplog last = this.lastOverflowWrites[stripe];
+      if (last != null) {
+        if (last.modify(dr, entry, value, async)) {
           return;
         }
       }
       // Create a new one and put it on the front of the list.
-      OverflowOplog oo = createOverflowOplog(value.getLength());
+      OverflowOplog oo = createOverflowOplog(value.getLength(), stripe, last);
       addOverflow(oo);
-      this.lastOverflowWrite = oo;
+      this.lastOverflowWrites[stripe] = oo;
       boolean didIt = oo.modify(dr, entry, value, async);
       assert didIt;
     }
@@ -85,11 +113,24 @@ public class OverflowOplogSet implements OplogSet {
 
   /**
    * @param minSize the minimum size this oplog can be
+   * @param stripe the write stripe the oplog will belong to
+   * @param previous the oplog the stripe was appending to, whose write buffer can be reused
    */
-  private OverflowOplog createOverflowOplog(long minSize) {
-    lastOverflowDir++;
-    if (lastOverflowDir >= getDirectories().length) {
-      lastOverflowDir = 0;
+  private OverflowOplog createOverflowOplog(long minSize, int stripe, OverflowOplog previous) {
+    int idx = selectOverflowDir(minSize, stripe);
+    int id = this.overflowOplogId.incrementAndGet();
+    return new OverflowOplog(id, this, getDirectories()[idx], minSize, previous);
+  }
+
+  private synchronized int selectOverflowDir(long minSize, int stripe) {
+    if (this.lastOverflowWrites.length > 1) {
+      // each stripe starts with its own directory
+      lastOverflowDir = stripe % getDirectories().length;
+    } else {
+      lastOverflowDir++;
+      if (lastOverflowDir >= getDirectories().length) {
+        lastOverflowDir = 0;
+      }
     }
     int idx = -1;
     long maxOplogSizeParam = getMaxOplogSizeInBytes();
@@ -152,9 +193,8 @@ public class OverflowOplogSet implements OplogSet {
             parent);
       }
     }
-    int id = this.overflowOplogId.incrementAndGet();
     lastOverflowDir = idx;
-    return new OverflowOplog(id, this, getDirectories()[idx], minSize);
+    return idx;
   }
 
   final void addOverflow(OverflowOplog oo) {
@@ -170,8 +210,10 @@ public class OverflowOplogSet implements OplogSet {
   }
 
   final boolean basicRemoveOverflow(OverflowOplog oo) {
-    if (this.lastOverflowWrite == oo) {
-      this.lastOverflowWrite = null;
+    for (int i = 0; i < this.lastOverflowWrites.length; i++) {
+      if (this.lastOverflowWrites[i] == oo) {
+        this.lastOverflowWrites[i] = null;
+      }
     }
     return this.overflowMap.remove(oo.getOplogId(), oo);
   }
@@ -195,7 +237,9 @@ public class OverflowOplogSet implements OplogSet {
     synchronized (id) {
       long oplogId = id.setOplogId(-1);
       if (oplogId != -1) {
-        synchronized (this.overflowMap) { // to prevent concurrent remove see bug 41646
+        // to prevent concurrent remove see bug 41646. The entry is only ever written to oplogs of
+        // its own stripe, so that stripe's lock excludes the writers of its oplog.
+        synchronized (this.stripeLocks[getStripe(entry)]) {
           OverflowOplog oplog = getChild((int) oplogId);
           if (oplog != null) {
             oplog.remove(dr, entry);
@@ -208,15 +252,16 @@ public class OverflowOplogSet implements OplogSet {
 
 
   void copyForwardForOverflowCompact(DiskEntry de, byte[] valueBytes, int length, byte userBits) {
-    synchronized (this.overflowMap) {
-      if (this.lastOverflowWrite != null) {
-        if (this.lastOverflowWrite.copyForwardForOverflowCompact(de, valueBytes, length,
-            userBits)) {
+    int stripe = getStripe(de);
+    synchronized (this.stripeLocks[stripe]) {
+      OverflowOplog last = this.lastOverflowWrites[stripe];
+      if (last != null) {
+        if (last.copyForwardForOverflowCompact(de, valueBytes, length, userBits)) {
           return;
         }
       }
-      OverflowOplog oo = createOverflowOplog(length);
-      this.lastOverflowWrite = oo;
+      OverflowOplog oo = createOverflowOplog(length, stripe, last);
+      this.lastOverflowWrites[stripe] = oo;
       addOverflow(oo);
       boolean didIt = oo.copyForwardForOverflowCompact(de, valueBytes, length, userBits);
       assert didIt;
@@ -30,6 +30,7 @@ import org.apache.geode.internal.cache.PartitionedRegionQueryEvaluator.PRQueryRe
 import org.apache.geode.internal.cache.execute.BucketMovedException;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingThreadGroup;
 import org.apache.logging.log4j.Logger;
 
 import java.io.DataInput;
@@ -37,13 +38,15 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  * This class takes the responsibility of executing the query on a data store for the buckets
- * specified in bucketList. It contains a <code>PRQueryExecutor</code> thread-pool executor that
- * takes a <code>Callable</code> task identified by <code>PartitionedRegion</code>, queryString and
- * bucketId.
+ * specified in bucketList. It contains a <code>PRQueryExecutor</code> thread pool that takes
+ * <code>Callable</code> tasks, each of which queries the buckets of the query one at a time until
+ * none are left.
  * 
  * The QueryTasks add results directly to a results queue. The BucketQueryResult is used not only to
  * indicate completion, and holds an exception if there one occurred while processing a query.
@@ -57,9 +60,20 @@ public class PRQueryProcessor {
   public final static int NUM_THREADS = Integer
       .getInteger(DistributionConfig.GEMFIRE_PREFIX + "PRQueryProcessor.numThreads", 1).intValue();
 
+  /**
+   * The most threads of the pool a single query uses, so that a query on many buckets does not keep
+   * concurrent queries waiting for threads. Defaults to half the size of the pool.
+   */
+  public final static int MAX_THREADS_PER_QUERY = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "PRQueryProcessor.maxThreadsPerQuery", 0)
+      .intValue();
+
   /* For Test purpose */
   public static int TEST_NUM_THREADS = 0;
 
+  /* For Test purpose */
+  public static int TEST_MAX_THREADS_PER_QUERY = 0;
+
   private PartitionedRegionDataStore _prds;
   private PartitionedRegion pr;
   private final DefaultQuery query;
@@ -159,8 +173,9 @@ public class PRQueryProcessor {
             bqr.handleAndThrowException(); // handles an exception if there was one,
             // otherwise, the results have already been added to the resultQueue
             // }
-            if (bqr.retry) {
+            if (bqr.isReattemptNeeded()) {
               reattemptNeeded = true;
+              fre = (ForceReattemptException) bqr.getException();
             }
 
           } catch (TimeoutException e) {
@@ -402,15 +417,42 @@ public class PRQueryProcessor {
     }
   }
 
+  /**
+   * Builds as many tasks as the query may use threads, each of which takes the next bucket still to
+   * be queried until none are left, so that the buckets are spread over the tasks by how long each
+   * takes to query.
+   */
   private List buildCallableTaskList(Collection<Collection> resultsColl) {
-    List callableTasks = new ArrayList();
-    for (Iterator itr = _bucketsToQuery.iterator(); itr.hasNext();) {
-      Integer bId = (Integer) itr.next();
-      callableTasks.add(new QueryTask(this.query, this.parameters, _prds, bId, resultsColl));
+    int numTasks = Math.min(getMaxThreadsPerQuery(), this._bucketsToQuery.size());
+    AtomicInteger nextBucket = new AtomicInteger();
+    AtomicBoolean failed = new AtomicBoolean();
+    List callableTasks = new ArrayList(numTasks);
+    for (int i = 0; i < numTasks; i++) {
+      callableTasks
+          .add(new QueryTask(this.query, this.parameters, _prds, nextBucket, failed, resultsColl));
     }
     return callableTasks;
   }
 
+  private static int getNumThreads() {
+    return TEST_NUM_THREADS > 1 ? TEST_NUM_THREADS : NUM_THREADS;
+  }
+
+  /**
+   * Returns the most threads of the pool a single query uses
+   * 
+   * @see #MAX_THREADS_PER_QUERY
+   */
+  public static int getMaxThreadsPerQuery() {
+    if (TEST_MAX_THREADS_PER_QUERY > 0) {
+      return TEST_MAX_THREADS_PER_QUERY;
+    }
+    if (MAX_THREADS_PER_QUERY > 0) {
+      return MAX_THREADS_PER_QUERY;
+    }
+    return Math.max(1, getNumThreads() / 2);
+  }
+
   public boolean isIndexUsed() {
     return isIndexUsedForLocalQuery;
   }
@@ -461,8 +503,22 @@ public class PRQueryProcessor {
      */
     static synchronized void initializeExecutorService() {
       if (execService == null || execService.isShutdown() || execService.isTerminated()) {
-        int numThreads = (TEST_NUM_THREADS > 1 ? TEST_NUM_THREADS : NUM_THREADS);
-        execService = Executors.newFixedThreadPool(numThreads);
+        int numThreads = getNumThreads();
+        final ThreadGroup group =
+            LoggingThreadGroup.createThreadGroup("PRQueryProcessor Threads", logger);
+        ThreadFactory tf = new ThreadFactory() {
+          private final AtomicInteger next = new AtomicInteger();
+
+          public Thread newThread(Runnable r) {
+            Thread t = new Thread(group, r, "PRQueryProcessor Thread " + next.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+          }
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(numThreads, numThreads, 60,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), tf);
+        pool.allowCoreThreadTimeOut(true);
+        execService = pool;
       }
     }
   }
@@ -510,8 +566,9 @@ public class PRQueryProcessor {
   }
 
   /**
-   * Implementation of call-able task to execute query on a bucket region. This task will be
-   * generated by the PRQueryProcessor.
+   * Implementation of call-able task to execute query on bucket regions. This task will be
+   * generated by the PRQueryProcessor. It queries the buckets it takes from those shared with the
+   * other tasks of the query one at a time, and stops at the first failure of any of the tasks.
    * 
    */
   @SuppressWarnings("synthetic-access")
@@ -519,46 +576,56 @@ public class PRQueryProcessor {
     private final DefaultQuery query;
     private final Object[] parameters;
     private final PartitionedRegionDataStore _prDs;
-    private final Integer _bucketId;
+    private final AtomicInteger nextBucket;
+    private final AtomicBoolean failed;
     private final Collection<Collection> resultColl;
 
     public QueryTask(DefaultQuery query, Object[] parameters, PartitionedRegionDataStore prDS,
-        Integer bucketId, final Collection<Collection> rColl) {
+        AtomicInteger nextBucket, AtomicBoolean failed, final Collection<Collection> rColl) {
       this.query = query;
       this._prDs = prDS;
-      this._bucketId = bucketId;
+      this.nextBucket = nextBucket;
+      this.failed = failed;
       this.resultColl = rColl;
       this.parameters = parameters;
     }
 
     public Object call() throws Exception {
-      BucketQueryResult bukResult = new BucketQueryResult(this._bucketId);
-      boolean retry = false;
-      try {
-        // Add indexInfo of this thread to result collector
-        QueryObserver observer = QueryObserverHolder.getInstance();
-        if (observer != null && observer instanceof IndexTrackingQueryObserver) {
-          // ((IndexTrackingQueryObserver)observer).setIndexInfo(resultColl.getIndexInfoMap());
-        }
+      BucketQueryResult bukResult = null;
+      int index;
+      while (!this.failed.get()
+          && (index = this.nextBucket.getAndIncrement()) < _bucketsToQuery.size()) {
+        final Integer bId = _bucketsToQuery.get(index);
+        bukResult = new BucketQueryResult(bId);
+        try {
+          // Add indexInfo of this thread to result collector
+          QueryObserver observer = QueryObserverHolder.getInstance();
+          if (observer != null && observer instanceof IndexTrackingQueryObserver) {
+            // ((IndexTrackingQueryObserver)observer).setIndexInfo(resultColl.getIndexInfoMap());
+          }
 
-        final Integer bId = Integer.valueOf(this._bucketId);
-        List<Integer> bucketList = Collections.singletonList(bId);
-        ExecutionContext context =
-            new QueryExecutionContext(this.parameters, pr.getCache(), this.query);
-        context.setBucketList(bucketList);
-        executeQueryOnBuckets(this.resultColl, context);
-        // executeSequentially(this.resultColl, bucketList);
-        // success
-        // doBucketQuery(bId, this._prDs, this.query, this.parameters, this.resultColl);
-      } catch (ForceReattemptException fre) {
-        bukResult.setException(fre);
-      } catch (QueryException e) {
-        bukResult.setException(e);
-      } catch (CacheRuntimeException cre) {
-        bukResult.setException(cre);
+          List<Integer> bucketList = Collections.singletonList(bId);
+          ExecutionContext context =
+              new QueryExecutionContext(this.parameters, pr.getCache(), this.query);
+          context.setBucketList(bucketList);
+          executeQueryOnBuckets(this.resultColl, context);
+          // executeSequentially(this.resultColl, bucketList);
+          // success
+          // doBucketQuery(bId, this._prDs, this.query, this.parameters, this.resultColl);
+        } catch (ForceReattemptException fre) {
+          bukResult.setException(fre);
+        } catch (QueryException e) {
+          bukResult.setException(e);
+        } catch (CacheRuntimeException cre) {
+          bukResult.setException(cre);
+        }
+        if (bukResult.exceptionOccured()) {
+          this.failed.set(true);
+          // Exception
+          return bukResult;
+        }
       }
-      // Exception
-      return bukResult;
+      return bukResult != null ? bukResult : new BucketQueryResult(-1);
     }
 
     /**
@@ -569,7 +636,6 @@ public class PRQueryProcessor {
 
       private int _buk;
       private Exception _ex = null;
-      public boolean retry = false;
 
       /**
        * Constructor
@@ -159,6 +159,14 @@ public class PartitionedRegion extends LocalRegion
   public static final boolean DISABLE_SECONDARY_BUCKET_ACK =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "disablePartitionedRegionBucketAck");
 
+  /**
+   * The most threads creating or populating the local bucket indexes of an index on this member.
+   * The default is the number of processors.
+   */
+  private static final int INDEX_CREATION_THREADS = Math.max(1, Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "PartitionedRegion.indexCreationThreads",
+      Runtime.getRuntime().availableProcessors()));
+
   /**
    * A debug flag used for testing calculation of starting bucket id
    */
@@ -8817,32 +8825,122 @@ public class PartitionedRegion extends LocalRegion
     }
   }
 
-  private boolean populateEmptyIndexes(Set<Index> indexes,
+  private boolean populateEmptyIndexes(final Set<Index> indexes,
       HashMap<String, Exception> exceptionsMap) {
     boolean throwException = false;
     if (getDataStore() != null && indexes.size() > 0) {
-      Set localBuckets = getDataStore().getAllLocalBuckets();
-      Iterator it = localBuckets.iterator();
-      while (it.hasNext()) {
-        Map.Entry entry = (Map.Entry) it.next();
-        Region bucket = (Region) entry.getValue();
-
-        if (bucket == null) {
-          continue;
+      List<Region> buckets = getLocalBucketRegions();
+      for (Index ind : indexes) {
+        ((PartitionedIndex) ind).incBucketIndexesPopulating(buckets.size());
+      }
+      List<Exception> exceptions = forEachBucket(buckets, new BucketIndexAction() {
+        public void run(Region bucket) throws Exception {
+          try {
+            IndexManager bucketIndexManager = IndexUtils.getIndexManager(bucket, true);
+            Set<Index> bucketIndexes = getBucketIndexesForPRIndexes(bucket, indexes);
+            bucketIndexManager.populateIndexes(bucketIndexes);
+          } finally {
+            for (Index ind : indexes) {
+              ((PartitionedIndex) ind).incBucketIndexesPopulating(-1);
+            }
+          }
         }
-        IndexManager bucketIndexManager = IndexUtils.getIndexManager(bucket, true);
-        Set<Index> bucketIndexes = getBucketIndexesForPRIndexes(bucket, indexes);
-        try {
-          bucketIndexManager.populateIndexes(bucketIndexes);
-        } catch (MultiIndexCreationException ex) {
-          exceptionsMap.putAll(ex.getExceptionsMap());
+      });
+      for (Exception ex : exceptions) {
+        if (ex instanceof MultiIndexCreationException) {
+          exceptionsMap.putAll(((MultiIndexCreationException) ex).getExceptionsMap());
           throwException = true;
+        } else if (ex instanceof RuntimeException) {
+          throw (RuntimeException) ex;
+        } else {
+          throw new IndexInvalidException(ex);
         }
       }
     }
     return throwException;
   }
 
+  /**
+   * Returns the local buckets of this region, whose indexes are created or populated in parallel by
+   * {@link #forEachBucket}.
+   */
+  private List<Region> getLocalBucketRegions() {
+    List<Region> buckets = new ArrayList<Region>();
+    for (Object localBucket : getDataStore().getAllLocalBuckets()) {
+      Region bucket = (Region) ((Map.Entry) localBucket).getValue();
+      if (bucket != null) {
+        buckets.add(bucket);
+      }
+    }
+    return buckets;
+  }
+
+  /** Creates or populates the indexes of a bucket */
+  private interface BucketIndexAction {
+    void run(Region bucket) throws Exception;
+  }
+
+  /**
+   * Runs the action for each of the buckets, on up to {@link #INDEX_CREATION_THREADS} threads of a
+   * fork-join pool, and returns the exceptions thrown by the action. The buckets have an index
+   * manager each, so their indexes are built independently of each other.
+   */
+  private List<Exception> forEachBucket(List<Region> buckets, final BucketIndexAction action) {
+    List<Exception> exceptions = new ArrayList<Exception>();
+    int threads = Math.min(INDEX_CREATION_THREADS, buckets.size());
+    if (threads <= 1) {
+      for (Region bucket : buckets) {
+        try {
+          action.run(bucket);
+        } catch (Exception ex) {
+          exceptions.add(ex);
+        }
+      }
+      return exceptions;
+    }
+
+    List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(buckets.size());
+    for (final Region bucket : buckets) {
+      tasks.add(new Callable<Void>() {
+        public Void call() throws Exception {
+          action.run(bucket);
+          return null;
+        }
+      });
+    }
+    ForkJoinPool pool = new ForkJoinPool(threads, new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+      public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread =
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("IndexCreation:" + getFullPath() + ":" + thread.getPoolIndex());
+        return thread;
+      }
+    }, null, false);
+    boolean interrupted = false;
+    try {
+      for (Future<Void> future : pool.invokeAll(tasks)) {
+        try {
+          future.get();
+        } catch (ExecutionException ex) {
+          Throwable cause = ex.getCause();
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          exceptions.add(cause instanceof Exception ? (Exception) cause : ex);
+        } catch (InterruptedException ex) {
+          // invokeAll has already waited for all the tasks
+          interrupted = true;
+        }
+      }
+    } finally {
+      pool.shutdown();
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return exceptions;
+  }
+
   private Set<Index> getBucketIndexesForPRIndexes(Region bucket, Set<Index> indexes) {
     Set<Index> bucketIndexes = new HashSet<Index>();
     for (Index ind : indexes) {
@@ -9968,8 +10066,7 @@ public class PartitionedRegion extends LocalRegion
         throws IndexNameConflictException, IndexExistsException, IndexCreationException {
       // List list = p_list;
 
-      Set localBuckets = getDataStore().getAllLocalBuckets();
-      Iterator it = localBuckets.iterator();
+      List<Region> buckets = getLocalBucketRegions();
       QCompiler compiler = new QCompiler();
       if (imports != null) {
         compiler.compileImports(imports);
@@ -9977,9 +10074,8 @@ public class PartitionedRegion extends LocalRegion
 
       // list = compiler.compileFromClause(fromClause);
 
-      PartitionedIndex parIndex = new PartitionedIndex(indexType, indexName, PartitionedRegion.this,
-          indexedExpression, fromClause, imports); // imports can be null
-      String modifiedFromClause;
+      final PartitionedIndex parIndex = new PartitionedIndex(indexType, indexName,
+          PartitionedRegion.this, indexedExpression, fromClause, imports); // imports can be null
       // In cases where we have no data yet (creation from cache xml), it would leave the populated
       // flag to false
       // Not really an issue as a put will trigger bucket index creation which should set this the
@@ -9987,32 +10083,37 @@ public class PartitionedRegion extends LocalRegion
       // However if the region is empty, we should set this flag to true so it will be reported as
       // used even though
       // there is no data in the region
-      if (!it.hasNext()) {
+      if (buckets.isEmpty()) {
         parIndex.setPopulated(true);
       }
-      while (it.hasNext()) {
-        Map.Entry entry = (Map.Entry) it.next();
-        Region bucket = (Region) entry.getValue();
-
-        if (bucket == null) {
-          continue;
+      parIndex.incBucketIndexesPopulating(buckets.size());
+      List<Exception> exceptions = forEachBucket(buckets, new BucketIndexAction() {
+        public void run(Region bucket) throws Exception {
+          try {
+            ExecutionContext externalContext = new ExecutionContext(null, cache);
+            externalContext.setBucketRegion(PartitionedRegion.this, (BucketRegion) bucket);
+            IndexManager indMng = IndexUtils.getIndexManager(bucket, true);
+            indMng.createIndex(indexName, indexType, indexedExpression, fromClause, imports,
+                externalContext, parIndex, loadEntries);
+            // parIndex.addToBucketIndexes(bucketIndex);
+          } finally {
+            parIndex.incBucketIndexesPopulating(-1);
+          }
         }
-
-        ExecutionContext externalContext = new ExecutionContext(null, cache);
-        externalContext.setBucketRegion(PartitionedRegion.this, (BucketRegion) bucket);
-        IndexManager indMng = IndexUtils.getIndexManager(bucket, true);
-        try {
-          Index bucketIndex = indMng.createIndex(indexName, indexType, indexedExpression,
-              fromClause, imports, externalContext, parIndex, loadEntries);
-          // parIndex.addToBucketIndexes(bucketIndex);
-        } catch (IndexNameConflictException ince) {
+      });
+      for (Exception ex : exceptions) {
+        if (ex instanceof IndexNameConflictException) {
           if (!remotelyOriginated) {
-            throw ince;
+            throw (IndexNameConflictException) ex;
           }
-        } catch (IndexExistsException iee) {
+        } else if (ex instanceof IndexExistsException) {
           if (!remotelyOriginated) {
-            throw iee;
+            throw (IndexExistsException) ex;
           }
+        } else if (ex instanceof RuntimeException) {
+          throw (RuntimeException) ex;
+        } else {
+          throw new IndexInvalidException(ex);
         }
       } // End of bucket list
       return parIndex;
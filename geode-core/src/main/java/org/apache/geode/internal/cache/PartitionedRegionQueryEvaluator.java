@@ -38,6 +38,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class sends the query on various <code>PartitionedRegion</code> data store nodes and
@@ -55,6 +56,10 @@ public class PartitionedRegionQueryEvaluator extends StreamingPartitionOperation
    */
   public static class MemberResultsList extends ArrayList {
     private boolean isLastChunkReceived = false;
+    /** the number of results in the chunks added to this list */
+    private int numResults;
+    /** the part of numResults already counted towards the query limit */
+    private int numResultsCounted;
 
     public boolean isLastChunkReceived() {
       return isLastChunkReceived;
@@ -93,6 +98,14 @@ public class PartitionedRegionQueryEvaluator extends StreamingPartitionOperation
   private final IntOpenHashSet successfulBuckets;
   // set of members failed to execute query
   private Set<InternalDistributedMember> failedMembers;
+  /**
+   * The limit of a query whose results are neither ordered, distinct nor aggregated, so any rows
+   * will do, or -1. Once members that have sent all of their results have provided this many rows,
+   * later chunks are not kept.
+   */
+  private int unorderedLimit = -1;
+  /** the number of rows received from members that have sent all of their results */
+  private final AtomicInteger completedResults = new AtomicInteger();
 
   /**
    * Construct a PartitionedRegionQueryEvaluator
@@ -188,10 +201,20 @@ public class PartitionedRegionQueryEvaluator extends StreamingPartitionOperation
     if (sortNeeded) {
       objects = sortIncomingData(objects, orderByAttribs);
     }
+    if (this.unorderedLimit > -1 && this.completedResults.get() >= this.unorderedLimit) {
+      // the limit has been met with results that won't be retried. This chunk is still tracked so
+      // that the member is known to have finished, but its rows would never be returned.
+      if (logger.isDebugEnabled()) {
+        logger.debug("Dropping {} results from {}; query limit {} already met", objects.size(),
+            sender, this.unorderedLimit);
+      }
+      objects = Collections.emptyList();
+    }
 
     synchronized (results) {
       if (!QueryMonitor.isLowMemory()) {
         results.add(objects);
+        ((MemberResultsList) results).numResults += objects.size();
       } else {
         if (logger.isDebugEnabled()) {
           logger.debug("query canceled while gathering results, aborting");
@@ -204,7 +227,11 @@ public class PartitionedRegionQueryEvaluator extends StreamingPartitionOperation
       }
 
       if (lastInSequence) {
-        ((MemberResultsList) results).setLastChunkReceived(true);
+        MemberResultsList memberResults = (MemberResultsList) results;
+        memberResults.setLastChunkReceived(true);
+        this.completedResults
+            .addAndGet(memberResults.numResults - memberResults.numResultsCounted);
+        memberResults.numResultsCounted = memberResults.numResults;
       }
     }
 
@@ -432,6 +459,7 @@ public class PartitionedRegionQueryEvaluator extends StreamingPartitionOperation
     this.node2bucketIds = buildNodeToBucketMap();
     Assert.assertTrue(!this.node2bucketIds.isEmpty(),
         " There are no data stores hosting any of the buckets.");
+    this.unorderedLimit = getUnorderedLimit();
 
     boolean needsRetry = true;
     int retry = 0;
@@ -488,6 +516,21 @@ public class PartitionedRegionQueryEvaluator extends StreamingPartitionOperation
     return addResultsToResultSet();
   }
 
+  /**
+   * Returns the query's limit if any rows of the results will satisfy it, otherwise -1
+   */
+  private int getUnorderedLimit() throws QueryException {
+    if (this.query == null) {
+      return -1;
+    }
+    CompiledSelect cs = this.query.getSimpleSelect();
+    if (cs == null || cs.isDistinct() || cs.isCount() || cs.isOrderBy()
+        || cs.getType() == CompiledValue.GROUP_BY_SELECT) {
+      return -1;
+    }
+    return this.query.getLimit(this.parameters);
+  }
+
   /**
    * Wait for 10 ms between reattempts.
    */
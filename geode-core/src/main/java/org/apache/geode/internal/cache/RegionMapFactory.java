@@ -57,7 +57,8 @@ class RegionMapFactory {
     RegionMap.Attributes ma = new RegionMap.Attributes();
     ma.statisticsEnabled = owner.getStatisticsEnabled();
     ma.loadFactor = owner.getLoadFactor();
-    ma.initialCapacity = owner.getInitialCapacity();
+    ma.initialCapacity =
+        owner.getRecoveryInitialCapacity(owner.getInitialCapacity(), owner.getLoadFactor());
     ma.concurrencyLevel = owner.getConcurrencyLevel();
     if (owner.getLruAlgorithm() != 0) {
       return new VMLRURegionMap(owner, ma, internalRegionArgs);
@@ -40,6 +40,7 @@ public class ResourceManagerStats {
   private static final int rebalanceBucketCreatesFailedId;
   private static final int rebalanceBucketCreateTimeId;
   private static final int rebalanceBucketCreateBytesId;
+  private static final int rebalanceBucketCreatesWaitingId;
   private static final int rebalanceBucketRemovesInProgressId;
   private static final int rebalanceBucketRemovesCompletedId;
   private static final int rebalanceBucketRemovesFailedId;
@@ -103,6 +104,9 @@ public class ResourceManagerStats {
             f.createLongCounter("rebalanceBucketCreateBytes",
                 "Total bytes created while directing bucket create operations for rebalancing.",
                 "bytes", false),
+            f.createIntGauge("rebalanceBucketCreatesWaiting",
+                "Current number of bucket create operations waiting for one of the limited parallel recovery slots.",
+                "operations"),
 
             f.createIntGauge("rebalanceBucketRemovesInProgress",
                 "Current number of bucket remove operations being directed for rebalancing.",
@@ -194,6 +198,7 @@ public class ResourceManagerStats {
     rebalanceBucketCreatesFailedId = type.nameToId("rebalanceBucketCreatesFailed");
     rebalanceBucketCreateTimeId = type.nameToId("rebalanceBucketCreateTime");
     rebalanceBucketCreateBytesId = type.nameToId("rebalanceBucketCreateBytes");
+    rebalanceBucketCreatesWaitingId = type.nameToId("rebalanceBucketCreatesWaiting");
     rebalanceBucketRemovesInProgressId = type.nameToId("rebalanceBucketRemovesInProgress");
     rebalanceBucketRemovesCompletedId = type.nameToId("rebalanceBucketRemovesCompleted");
     rebalanceBucketRemovesFailedId = type.nameToId("rebalanceBucketRemovesFailed");
@@ -257,6 +262,14 @@ public class ResourceManagerStats {
     this.stats.incInt(rebalanceBucketCreatesInProgressId, regions);
   }
 
+  public void startBucketCreateWait() {
+    this.stats.incInt(rebalanceBucketCreatesWaitingId, 1);
+  }
+
+  public void endBucketCreateWait() {
+    this.stats.incInt(rebalanceBucketCreatesWaitingId, -1);
+  }
+
   public void endBucketCreate(int regions, boolean success, long bytes, long elapsed) {
     this.stats.incInt(rebalanceBucketCreatesInProgressId, -regions);
     this.stats.incLong(rebalanceBucketCreateTimeId, elapsed);
@@ -356,6 +369,10 @@ public class ResourceManagerStats {
     return this.stats.getLong(rebalanceBucketCreateBytesId);
   }
 
+  public int getRebalanceBucketCreatesWaiting() {
+    return this.stats.getInt(rebalanceBucketCreatesWaitingId);
+  }
+
   public int getRebalanceBucketTransfersInProgress() {
     return this.stats.getInt(rebalanceBucketTransfersInProgressId);
   }
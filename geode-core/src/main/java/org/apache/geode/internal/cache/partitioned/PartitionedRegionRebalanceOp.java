@@ -71,6 +71,12 @@ public class PartitionedRegionRebalanceOp {
 
   private static final int MAX_PARALLEL_OPERATIONS =
       Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "MAX_PARALLEL_BUCKET_RECOVERIES", 8);
+  /**
+   * The number of bucket creates that may be directed at any one member at a time. Zero means only
+   * MAX_PARALLEL_BUCKET_RECOVERIES applies.
+   */
+  private static final int MAX_PARALLEL_OPERATIONS_PER_MEMBER = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "MAX_PARALLEL_BUCKET_RECOVERIES_PER_MEMBER", 0);
   private final boolean DEBUG =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "LOG_REBALANCE");
 
@@ -184,7 +190,8 @@ public class PartitionedRegionRebalanceOp {
       Map<PartitionedRegion, InternalPRInfo> detailsMap = fetchDetails(cache);
       BucketOperatorWrapper serialOperator = getBucketOperator(detailsMap);
       ParallelBucketOperator parallelOperator = new ParallelBucketOperator(MAX_PARALLEL_OPERATIONS,
-          cache.getDistributionManager().getWaitingThreadPool(), serialOperator);
+          MAX_PARALLEL_OPERATIONS_PER_MEMBER, cache.getDistributionManager().getWaitingThreadPool(),
+          serialOperator, this.stats);
       model = buildModel(parallelOperator, detailsMap, resourceManager);
       for (PartitionRebalanceDetailsImpl details : serialOperator.getDetailSet()) {
         details.setPartitionMemberDetailsBefore(
@@ -14,7 +14,10 @@
  */
 package org.apache.geode.internal.cache.partitioned.rebalance;
 
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
@@ -23,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.geode.CancelException;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.internal.cache.control.ResourceManagerStats;
 
 /**
  * A bucket operator that will perform operations on a bucket asynchronously.
@@ -39,6 +43,12 @@ import org.apache.geode.distributed.internal.membership.InternalDistributedMembe
  * 
  * Note that only createRedundantBucket is asynchronous, the rest of the operations are synchronous.
  * 
+ * The number of concurrent creates may also be limited per target member, so that a single
+ * restarted member is not asked to GII every bucket at once while other members sit idle. A create
+ * for a member that is at its limit is deferred rather than blocking the caller, and is submitted by
+ * a later call to createRedundantBucket or waitForOperations once one of that member's creates has
+ * finished.
+ * 
  */
 public class ParallelBucketOperator implements BucketOperator {
 
@@ -46,10 +56,21 @@ public class ParallelBucketOperator implements BucketOperator {
   private final ExecutorService executor;
   private final Semaphore operationSemaphore;
   private final int maxParallelOperations;
+  private final int maxParallelOperationsPerMember;
+  private final ConcurrentHashMap<InternalDistributedMember, Semaphore> memberSemaphores =
+      new ConcurrentHashMap<InternalDistributedMember, Semaphore>();
+  private final ResourceManagerStats stats;
   private final ConcurrentLinkedQueue<Completion> pendingSuccess =
       new ConcurrentLinkedQueue<BucketOperator.Completion>();
   private final ConcurrentLinkedQueue<Completion> pendingFailure =
       new ConcurrentLinkedQueue<BucketOperator.Completion>();
+  /**
+   * Creates waiting for their target member to drop below maxParallelOperationsPerMember, in the
+   * order they were requested. Only used by the thread calling createRedundantBucket.
+   */
+  private final LinkedList<DeferredCreate> deferredCreates = new LinkedList<DeferredCreate>();
+  /** released each time a create limited per member finishes */
+  private final Semaphore memberReleases = new Semaphore(0);
 
 
   /**
@@ -64,16 +85,36 @@ public class ParallelBucketOperator implements BucketOperator {
    */
   public ParallelBucketOperator(int maxParallelOperations, ExecutorService executor,
       BucketOperator operator) {
+    this(maxParallelOperations, 0, executor, operator, null);
+  }
+
+  /**
+   * Create a parallel bucket operator
+   * 
+   * @param maxParallelOperations The number of operations that can execute concurrently.
+   * @param maxParallelOperationsPerMember The number of operations that can execute concurrently
+   *        against any one target member. Zero or less means only maxParallelOperations applies.
+   * @param executor the executor to submit tasks to.
+   * @param operator A bucket operator that is synchronous that will do the actual work of creating
+   *        a bucket.
+   * @param stats the stats to record waiting operations in, may be null
+   */
+  public ParallelBucketOperator(int maxParallelOperations, int maxParallelOperationsPerMember,
+      ExecutorService executor, BucketOperator operator, ResourceManagerStats stats) {
     this.maxParallelOperations = maxParallelOperations;
+    this.maxParallelOperationsPerMember =
+        maxParallelOperationsPerMember < maxParallelOperations ? maxParallelOperationsPerMember : 0;
     this.operationSemaphore = new Semaphore(maxParallelOperations);
     this.delegate = operator;
     this.executor = executor;
+    this.stats = stats;
   }
 
   /**
    * Create a redundant bucket asynchronously. If maxParallelOperations is not reached, this call
    * will submit a task and return immediately. Otherwise, it will block until an executor thread is
-   * available to take a task.
+   * available to take a task. If the target member already has maxParallelOperationsPerMember
+   * creates in progress the create is deferred and this call returns immediately.
    * 
    * The completion will not be notified until the caller makes another call to createRedundant
    * bucket or waitForOperations.
@@ -83,7 +124,50 @@ public class ParallelBucketOperator implements BucketOperator {
       final int bucketId, final Map<String, Long> colocatedRegionBytes,
       final Completion completion) {
     drainCompletions();
-    operationSemaphore.acquireUninterruptibly();
+    submitDeferredCreates();
+    final Semaphore memberSemaphore = getMemberSemaphore(targetMember);
+    if (memberSemaphore != null && !memberSemaphore.tryAcquire()) {
+      if (stats != null) {
+        stats.startBucketCreateWait();
+      }
+      deferredCreates
+          .add(new DeferredCreate(targetMember, bucketId, colocatedRegionBytes, completion));
+      return;
+    }
+    submit(targetMember, bucketId, colocatedRegionBytes, completion, memberSemaphore);
+  }
+
+  /**
+   * Submits the deferred creates whose target member is no longer at its limit.
+   */
+  private void submitDeferredCreates() {
+    if (deferredCreates.isEmpty()) {
+      return;
+    }
+    // releases up to now are accounted for by this pass
+    memberReleases.drainPermits();
+    for (Iterator<DeferredCreate> itr = deferredCreates.iterator(); itr.hasNext();) {
+      DeferredCreate create = itr.next();
+      Semaphore memberSemaphore = getMemberSemaphore(create.targetMember);
+      if (memberSemaphore.tryAcquire()) {
+        itr.remove();
+        if (stats != null) {
+          stats.endBucketCreateWait();
+        }
+        submit(create.targetMember, create.bucketId, create.colocatedRegionBytes,
+            create.completion, memberSemaphore);
+      }
+    }
+  }
+
+  /**
+   * Hands a create to the executor once one of the maxParallelOperations is available. The caller
+   * must already hold a permit of the memberSemaphore, if there is one.
+   */
+  private void submit(final InternalDistributedMember targetMember, final int bucketId,
+      final Map<String, Long> colocatedRegionBytes, final Completion completion,
+      final Semaphore memberSemaphore) {
+    acquire(operationSemaphore);
     executor.execute(new Runnable() {
       @Override
       public void run() {
@@ -106,10 +190,44 @@ public class ParallelBucketOperator implements BucketOperator {
           // ignore
         } finally {
           operationSemaphore.release();
+          if (memberSemaphore != null) {
+            memberSemaphore.release();
+            memberReleases.release();
+          }
         }
       }
     });
+  }
 
+  private Semaphore getMemberSemaphore(InternalDistributedMember member) {
+    if (maxParallelOperationsPerMember <= 0) {
+      return null;
+    }
+    Semaphore result = memberSemaphores.get(member);
+    if (result == null) {
+      result = new Semaphore(maxParallelOperationsPerMember);
+      Semaphore existing = memberSemaphores.putIfAbsent(member, result);
+      if (existing != null) {
+        result = existing;
+      }
+    }
+    return result;
+  }
+
+  private void acquire(Semaphore semaphore) {
+    if (semaphore.tryAcquire()) {
+      return;
+    }
+    if (stats != null) {
+      stats.startBucketCreateWait();
+    }
+    try {
+      semaphore.acquireUninterruptibly();
+    } finally {
+      if (stats != null) {
+        stats.endBucketCreateWait();
+      }
+    }
   }
 
   @Override
@@ -145,11 +263,21 @@ public class ParallelBucketOperator implements BucketOperator {
 
   /**
    * Wait for any pending operations, and notify the the completions that the operations and done.
+   * If the executor is shut down first, creates that were still deferred are never submitted and
+   * their completions are notified of failure.
    */
   public void waitForOperations() {
     boolean interrupted = false;
     while (!executor.isShutdown()) {
       try {
+        if (!deferredCreates.isEmpty()) {
+          submitDeferredCreates();
+          if (!deferredCreates.isEmpty()) {
+            // wait for one of the members to finish a create
+            memberReleases.tryAcquire(1, TimeUnit.SECONDS);
+          }
+          continue;
+        }
         if (operationSemaphore.tryAcquire(maxParallelOperations, 1, TimeUnit.SECONDS)) {
           operationSemaphore.release(maxParallelOperations);
 
@@ -165,6 +293,40 @@ public class ParallelBucketOperator implements BucketOperator {
         interrupted = true;
       }
     }
+
+    failDeferredCreates();
+    drainCompletions();
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Fails the creates that are still waiting for their target member, releasing the wait each one
+   * added to the stats.
+   */
+  private void failDeferredCreates() {
+    DeferredCreate create;
+    while ((create = deferredCreates.poll()) != null) {
+      if (stats != null) {
+        stats.endBucketCreateWait();
+      }
+      create.completion.onFailure();
+    }
   }
 
+  private static class DeferredCreate {
+    private final InternalDistributedMember targetMember;
+    private final int bucketId;
+    private final Map<String, Long> colocatedRegionBytes;
+    private final Completion completion;
+
+    DeferredCreate(InternalDistributedMember targetMember, int bucketId,
+        Map<String, Long> colocatedRegionBytes, Completion completion) {
+      this.targetMember = targetMember;
+      this.bucketId = bucketId;
+      this.colocatedRegionBytes = colocatedRegionBytes;
+      this.completion = completion;
+    }
+  }
 }
@@ -40,6 +40,15 @@ public interface DiskRegionView extends PersistentMemberView, RegionEntryContext
 
   public void setClearOplogEntryId(long v);
 
+  /**
+   * Returns about how many entries this region will recover, or 0 if that is not known. It is
+   * counted from the krfs read when the disk store is opened, or taken from the size of the region
+   * when it was last closed by this member. It is not written to the init file.
+   */
+  public long getEntryCountHint();
+
+  public void setEntryCountHint(long v);
+
   public RegionVersionVector getClearRVV();
 
   public void setClearRVV(RegionVersionVector clearRVV);
@@ -950,8 +950,12 @@ public class GatewaySenderEventImpl
           // The value is an object. It will be serialized later when getSerializedValue is called.
           this.valueObj = newValue;
           // to prevent bug 48281 we need to serialize it now
-          this.getSerializedValue();
+          byte[] serializedValue = this.getSerializedValue();
           this.valueObj = null;
+          // let anything else distributing this event reuse the bytes
+          if (serializedValue != null) {
+            event.setCachedSerializedNewValue(serializedValue);
+          }
         }
       }
     } else {
@@ -320,6 +320,27 @@ public abstract class NativeCalls {
     }
   }
 
+  /**
+   * Start writing the dirty pages of the given range of a file back to disk, without waiting for
+   * the writes to complete.
+   *
+   * @return false if this platform has no way of doing so
+   */
+  public boolean startFileWriteback(String path, long offset, long len) {
+    return false;
+  }
+
+  /**
+   * Advise the OS that the given range of a file will not be read again soon so its pages can be
+   * dropped from the page cache. Pages that are still dirty may be kept, so the range should have
+   * been written back with {@link #startFileWriteback} some time before.
+   *
+   * @return false if this platform has no way of doing so
+   */
+  public boolean dropFileCache(String path, long offset, long len) {
+    return false;
+  }
+
   /**
    * This will return whether the path passed in as arg is part of a local file system or a remote
    * file system. This method is mainly used by the DiskCapacityMonitor thread and we don't want to
@@ -417,6 +417,19 @@ public final class NativeCallsJNAImpl {
 
     public static native int creat64(String path, int flags) throws LastErrorException;
 
+    static final int O_RDONLY = 0;
+    static final int POSIX_FADV_DONTNEED = 4;
+
+    public static native int open64(String path, int flags) throws LastErrorException;
+
+    /** posix_fadvise returns error number rather than setting errno */
+    public static native int posix_fadvise64(int fd, long offset, long len, int advice);
+
+    static final int SYNC_FILE_RANGE_WRITE = 2;
+
+    public static native int sync_file_range(int fd, long offset, long nbytes, int flags)
+        throws LastErrorException;
+
     /**
      * {@inheritDoc}
      */
@@ -425,6 +438,58 @@ public final class NativeCallsJNAImpl {
       return OSType.LINUX;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean startFileWriteback(String path, long offset, long len) {
+      int fd = -1;
+      try {
+        // the page cache belongs to the file so any descriptor for it will do
+        fd = open64(path, O_RDONLY);
+        // only initiate the writes; waiting for them is left to the OS
+        sync_file_range(fd, offset, len, SYNC_FILE_RANGE_WRITE);
+        return true;
+      } catch (LastErrorException le) {
+        return false;
+      } catch (UnsatisfiedLinkError ule) {
+        return false;
+      } finally {
+        if (fd >= 0) {
+          try {
+            close(fd);
+          } catch (Exception e) {
+            // ignore
+          }
+        }
+      }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean dropFileCache(String path, long offset, long len) {
+      int fd = -1;
+      try {
+        // the page cache belongs to the file so any descriptor for it will do
+        fd = open64(path, O_RDONLY);
+        return posix_fadvise64(fd, offset, len, POSIX_FADV_DONTNEED) == 0;
+      } catch (LastErrorException le) {
+        return false;
+      } catch (UnsatisfiedLinkError ule) {
+        return false;
+      } finally {
+        if (fd >= 0) {
+          try {
+            close(fd);
+          } catch (Exception e) {
+            // ignore
+          }
+        }
+      }
+    }
+
     @Override
     protected int getPlatformOption(TCPSocketOptions opt) throws UnsupportedOperationException {
       switch (opt) {
@@ -28,9 +28,27 @@ import org.apache.geode.internal.Assert;
  */
 public class Buffers {
   /**
-   * A list of soft references to byte buffers.
+   * Soft references to pooled direct byte buffers, with one queue per size class. A buffer is kept
+   * in the queue for the largest power of two that is not greater than its capacity, so any buffer
+   * in a higher class than the one a request falls in is big enough without looking at it, and only
+   * the request's own class has to be searched.
    */
-  private static final ConcurrentLinkedQueue bufferQueue = new ConcurrentLinkedQueue();
+  private static final ConcurrentLinkedQueue[] bufferQueues = new ConcurrentLinkedQueue[32];
+  static {
+    for (int i = 0; i < bufferQueues.length; i++) {
+      bufferQueues[i] = new ConcurrentLinkedQueue();
+    }
+  }
+
+  /**
+   * Returns the size class for a buffer of the given capacity, floor(log2(capacity)).
+   */
+  static int getSizeClass(int capacity) {
+    if (capacity <= 0) {
+      return 0;
+    }
+    return 31 - Integer.numberOfLeadingZeros(capacity);
+  }
 
   /**
    * Should only be called by threads that have currently acquired send permission.
@@ -48,40 +66,18 @@ public class Buffers {
   static ByteBuffer acquireBuffer(int size, DMStats stats, boolean send) {
     ByteBuffer result;
     if (TCPConduit.useDirectBuffers) {
-      IdentityHashMap<BBSoftReference, BBSoftReference> alreadySeen = null; // keys are used like a
-                                                                            // set
-      BBSoftReference ref = (BBSoftReference) bufferQueue.poll();
-      while (ref != null) {
-        ByteBuffer bb = ref.getBB();
-        if (bb == null) {
-          // it was garbage collected
-          int refSize = ref.consumeSize();
-          if (refSize > 0) {
-            if (ref.getSend()) { // fix bug 46773
-              stats.incSenderBufferSize(-refSize, true);
-            } else {
-              stats.incReceiverBufferSize(-refSize, true);
-            }
-          }
-        } else if (bb.capacity() >= size) {
+      int sizeClass = getSizeClass(size);
+      for (int i = sizeClass; i < bufferQueues.length; i++) {
+        // buffers in higher classes are always big enough so take the first live one
+        ByteBuffer bb = pollBuffer(bufferQueues[i], i == sizeClass ? size : 0, stats);
+        if (bb != null) {
+          stats.incBufferPoolAcquire(true);
           bb.rewind();
           bb.limit(size);
           return bb;
-        } else {
-          // wasn't big enough so put it back in the queue
-          Assert.assertTrue(bufferQueue.offer(ref));
-          if (alreadySeen == null) {
-            alreadySeen = new IdentityHashMap<BBSoftReference, BBSoftReference>();
-          }
-          if (alreadySeen.put(ref, ref) != null) {
-            // if it returns non-null then we have already seen this item
-            // so we have worked all the way through the queue once.
-            // So it is time to give up and allocate a new buffer.
-            break;
-          }
         }
-        ref = (BBSoftReference) bufferQueue.poll();
       }
+      stats.incBufferPoolAcquire(false);
       result = ByteBuffer.allocateDirect(size);
     } else {
       // if we are using heap buffers then don't bother with keeping them around
@@ -95,6 +91,47 @@ public class Buffers {
     return result;
   }
 
+  /**
+   * Removes and returns a buffer from the given queue whose capacity is at least size, or null if
+   * the queue has none.
+   */
+  private static ByteBuffer pollBuffer(ConcurrentLinkedQueue bufferQueue, int size,
+      DMStats stats) {
+    IdentityHashMap<BBSoftReference, BBSoftReference> alreadySeen = null; // keys are used like a
+                                                                          // set
+    BBSoftReference ref = (BBSoftReference) bufferQueue.poll();
+    while (ref != null) {
+      ByteBuffer bb = ref.getBB();
+      if (bb == null) {
+        // it was garbage collected
+        int refSize = ref.consumeSize();
+        if (refSize > 0) {
+          if (ref.getSend()) { // fix bug 46773
+            stats.incSenderBufferSize(-refSize, true);
+          } else {
+            stats.incReceiverBufferSize(-refSize, true);
+          }
+        }
+      } else if (bb.capacity() >= size) {
+        return bb;
+      } else {
+        // wasn't big enough so put it back in the queue
+        Assert.assertTrue(bufferQueue.offer(ref));
+        if (alreadySeen == null) {
+          alreadySeen = new IdentityHashMap<BBSoftReference, BBSoftReference>();
+        }
+        if (alreadySeen.put(ref, ref) != null) {
+          // if it returns non-null then we have already seen this item
+          // so we have worked all the way through the queue once.
+          // So it is time to give up.
+          return null;
+        }
+      }
+      ref = (BBSoftReference) bufferQueue.poll();
+    }
+    return null;
+  }
+
   static void releaseSenderBuffer(ByteBuffer bb, DMStats stats) {
     releaseBuffer(bb, stats, true);
   }
@@ -109,7 +146,7 @@ public class Buffers {
   static void releaseBuffer(ByteBuffer bb, DMStats stats, boolean send) {
     if (TCPConduit.useDirectBuffers) {
       BBSoftReference bbRef = new BBSoftReference(bb, send);
-      bufferQueue.offer(bbRef);
+      bufferQueues[getSizeClass(bb.capacity())].offer(bbRef);
     } else {
       if (send) {
         stats.incSenderBufferSize(-bb.capacity(), false);
@@ -119,17 +156,28 @@ public class Buffers {
     }
   }
 
+  /**
+   * Empties the buffer pool. For tests that need to know what is pooled.
+   */
+  static void clearBufferPool() {
+    for (ConcurrentLinkedQueue bufferQueue : bufferQueues) {
+      bufferQueue.clear();
+    }
+  }
+
   public static void initBufferStats(DMStats stats) { // fixes 46773
     if (TCPConduit.useDirectBuffers) {
-      @SuppressWarnings("unchecked")
-      Iterator<BBSoftReference> it = (Iterator<BBSoftReference>) bufferQueue.iterator();
-      while (it.hasNext()) {
-        BBSoftReference ref = it.next();
-        if (ref.getBB() != null) {
-          if (ref.getSend()) { // fix bug 46773
-            stats.incSenderBufferSize(ref.getSize(), true);
-          } else {
-            stats.incReceiverBufferSize(ref.getSize(), true);
+      for (ConcurrentLinkedQueue bufferQueue : bufferQueues) {
+        @SuppressWarnings("unchecked")
+        Iterator<BBSoftReference> it = (Iterator<BBSoftReference>) bufferQueue.iterator();
+        while (it.hasNext()) {
+          BBSoftReference ref = it.next();
+          if (ref.getBB() != null) {
+            if (ref.getSend()) { // fix bug 46773
+              stats.incSenderBufferSize(ref.getSize(), true);
+            } else {
+              stats.incReceiverBufferSize(ref.getSize(), true);
+            }
           }
         }
       }
@@ -87,6 +87,16 @@ public class Connection implements Runnable {
   public final static int SMALL_BUFFER_SIZE =
       Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "SMALL_BUFFER_SIZE", 4096).intValue();
 
+  /**
+   * Socket buffer size used by connections to and from members on the same host, or zero to use the
+   * socket-buffer-size like any other member. Loopback traffic has no wire to fill so a larger
+   * buffer (and the larger message chunks that go with it) just means fewer writes and wakeups.
+   * 
+   * @since Geode 1.1
+   */
+  public final static int COLOCATED_SOCKET_BUFFER_SIZE =
+      Integer.getInteger("p2p.colocatedSocketBufferSize", 0).intValue();
+
   /** counter to give connections a unique id */
   private static AtomicLong idCounter = new AtomicLong(1);
 
@@ -415,8 +425,35 @@ public class Connection implements Runnable {
     setSendBufferSize(sock, this.owner.getConduit().tcpBufferSize);
   }
 
-  private void setReceiveBufferSize(Socket sock) {
-    setReceiveBufferSize(sock, this.owner.getConduit().tcpBufferSize);
+  /**
+   * Returns the socket buffer size a sender connection to the given member should ask for.
+   */
+  private int getSenderBufferSize(InternalDistributedMember remote) {
+    InternalDistributedMember local = this.owner.getConduit().getLocalAddr();
+    return getSocketBufferSize(local == null ? null : local.getInetAddress(),
+        remote.getInetAddress(), this.owner.getConduit().tcpBufferSize,
+        COLOCATED_SOCKET_BUFFER_SIZE);
+  }
+
+  /**
+   * Returns the receive buffer size an accepted connection should ask for. The peer is not known
+   * until the handshake has been read, so a peer on the same host is recognized by its address.
+   */
+  private int getReceiverBufferSize(Socket sock) {
+    return getSocketBufferSize(sock.getLocalAddress(), sock.getInetAddress(),
+        this.owner.getConduit().tcpBufferSize, COLOCATED_SOCKET_BUFFER_SIZE);
+  }
+
+  /**
+   * Returns colocatedBufferSize if it is set and the two addresses are the same, otherwise
+   * bufferSize.
+   */
+  static int getSocketBufferSize(InetAddress local, InetAddress remote, int bufferSize,
+      int colocatedBufferSize) {
+    if (colocatedBufferSize > 0 && local != null && local.equals(remote)) {
+      return colocatedBufferSize;
+    }
+    return bufferSize;
   }
 
   private void setSendBufferSize(Socket sock, int requestedSize) {
@@ -555,7 +592,7 @@ public class Connection implements Runnable {
       // socket.setSoLinger(true, (Integer.valueOf(System.getProperty("p2p.lingerTime",
       // "5000"))).intValue());
       setSendBufferSize(socket, SMALL_BUFFER_SIZE);
-      setReceiveBufferSize(socket);
+      setReceiveBufferSize(socket, getReceiverBufferSize(socket));
     } catch (SocketException e) {
       // unable to get the settings we want. Don't log an error because it will
       // likely happen a lot
@@ -849,7 +886,8 @@ public class Connection implements Runnable {
         Socket s = this.socket;
         if (s != null && !s.isClosed()) {
           prepareForAsyncClose();
-          this.owner.getSocketCloser().asyncClose(s, String.valueOf(this.remoteAddr), null);
+          this.owner.getSocketCloser().asyncClose(s, String.valueOf(this.remoteAddr),
+              waitForBatchFlusher());
         }
       }
     }
@@ -1248,17 +1286,18 @@ public class Connection implements Runnable {
 
         channel.socket().setKeepAlive(SocketCreator.ENABLE_TCP_KEEP_ALIVE);
 
+        final int bufferSize = getSenderBufferSize(remoteAddr);
         /**
          * If conserve-sockets is false, the socket can be used for receiving responses, so set the
          * receive buffer accordingly.
          */
         if (!sharedResource) {
-          setReceiveBufferSize(channel.socket(), this.owner.getConduit().tcpBufferSize);
+          setReceiveBufferSize(channel.socket(), bufferSize);
         } else {
           setReceiveBufferSize(channel.socket(), SMALL_BUFFER_SIZE); // make small since only
                                                                      // receive ack messages
         }
-        setSendBufferSize(channel.socket());
+        setSendBufferSize(channel.socket(), bufferSize);
         channel.configureBlocking(true);
 
         int connectTime = getP2PConnectTimeout();;
@@ -1329,16 +1368,24 @@ public class Connection implements Runnable {
   }
 
   /**
-   * Batch sends currently should not be turned on because: 1. They will be used for all sends
-   * (instead of just no-ack) and thus will break messages that wait for a response (or kill perf).
-   * 2. The buffer is not properly flushed and closed on shutdown. The code attempts to do this but
-   * must not be doing it correctly.
+   * Batch sends coalesce the frames of several messages to the same peer into one socket write.
+   * Frames are self-describing so the receiving side needs no changes. Messages that someone is
+   * waiting on (those with a reply processor, including replies themselves, and those whose sender
+   * reads a direct ack) ask for the batch to be written right away. Anything else is written once
+   * the batch is half full or has waited BATCH_FLUSH_MS, and whatever is left is written when the
+   * connection closes. Batch sends are used on ordered connections, both shared and thread-owned,
+   * and must be enabled with p2p.batchSends.
    */
-  private static final boolean BATCH_SENDS = Boolean.getBoolean("p2p.batchSends");
+  static final boolean BATCH_SENDS = Boolean.getBoolean("p2p.batchSends");
   protected static final int BATCH_BUFFER_SIZE =
       Integer.getInteger("p2p.batchBufferSize", 1024 * 1024).intValue();
   protected static final int BATCH_FLUSH_MS =
       Integer.getInteger("p2p.batchFlushTime", 50).intValue();
+  /**
+   * how long the socket closer waits for the batch flusher to write what is left in the batch
+   * before interrupting it
+   */
+  private static final long BATCH_CLOSE_WAIT_MS = 2000;
   protected Object batchLock;
   protected ByteBuffer fillBatchBuffer;
   protected ByteBuffer sendBatchBuffer;
@@ -1410,10 +1457,25 @@ public class Connection implements Runnable {
       }
     }
 
+    /**
+     * Called when a message writer wants the current fillBatchBuffer written without waiting for
+     * the batch flush time. Unlike flushBuffer this does not wait for the write to happen.
+     */
+    public void requestFlush() {
+      synchronized (this) {
+        this.flushNeeded = true;
+        this.notify();
+      }
+    }
+
+    /**
+     * Stops the flusher once it has written what is left in the batch. If the flusher itself is
+     * closing the connection, because a write failed, nothing more is written.
+     */
     public void close() {
       synchronized (this) {
         this.timeToStop = true;
-        this.flushNeeded = true;
+        this.flushNeeded = Thread.currentThread() != this;
         this.notify();
       }
     }
@@ -1422,11 +1484,19 @@ public class Connection implements Runnable {
     public void run() {
       try {
         synchronized (this) {
-          while (!timeToStop) {
-            if (!this.flushNeeded && fillBatchBuffer.position() <= (BATCH_BUFFER_SIZE / 2)) {
+          while (true) {
+            boolean waited = false;
+            if (!this.timeToStop && !this.flushNeeded
+                && fillBatchBuffer.position() <= (BATCH_BUFFER_SIZE / 2)) {
               wait(BATCH_FLUSH_MS); // spurious wakeup ok
+              waited = true;
             }
-            if (this.flushNeeded || fillBatchBuffer.position() > (BATCH_BUFFER_SIZE / 2)) {
+            if (this.timeToStop && !this.flushNeeded) {
+              break;
+            }
+            // once the flush time has passed whatever is in the batch is written
+            if (this.flushNeeded || fillBatchBuffer.position() > (BATCH_BUFFER_SIZE / 2)
+                || (waited && fillBatchBuffer.position() > 0)) {
               final long start = DistributionStats.getStatTime();
               synchronized (batchLock) {
                 // This is the only block of code that will swap
@@ -1465,6 +1535,9 @@ public class Connection implements Runnable {
               }
               this.stats.incBatchFlushTime(start);
             }
+            if (this.timeToStop) {
+              break;
+            }
           }
         }
       } catch (InterruptedException ex) {
@@ -1474,12 +1547,45 @@ public class Connection implements Runnable {
     }
   }
 
+  /**
+   * Tells the batch flusher to write out what is left in the batch and stop. This does not wait for
+   * the write; the socket closer waits for it before closing the socket, see
+   * {@link #waitForBatchFlusher()}.
+   */
   private void closeBatchBuffer() {
     if (this.batchFlusher != null) {
       this.batchFlusher.close();
     }
   }
 
+  /**
+   * Returns a task for the socket closer that waits for the batch flusher to stop, so that what is
+   * left in the batch is written before the socket is closed. A flusher that is still writing after
+   * BATCH_CLOSE_WAIT_MS is interrupted. Returns null if this connection does not batch sends.
+   */
+  private Runnable waitForBatchFlusher() {
+    final BatchBufferFlusher flusher = this.batchFlusher;
+    if (flusher == null) {
+      return null;
+    }
+    return new Runnable() {
+      public void run() {
+        if (Thread.currentThread() == flusher) {
+          // the flusher is closing the connection itself and will not write again
+          return;
+        }
+        try {
+          flusher.join(BATCH_CLOSE_WAIT_MS);
+        } catch (InterruptedException ignore) {
+          Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+          flusher.interrupt();
+        }
+      }
+    };
+  }
+
   /**
    * use to test message prep overhead (no socket write). WARNING: turning this on completely
    * disables distribution of batched sends
@@ -1560,6 +1666,8 @@ public class Connection implements Runnable {
       return;
     }
     if (!onlyCleanup) {
+      // have anything still batched written out before the socket is closed
+      closeBatchBuffer();
       synchronized (this) {
         this.stopped = true;
         if (this.connected) {
@@ -1653,7 +1761,6 @@ public class Connection implements Runnable {
         }
       }
 
-      closeBatchBuffer();
       closeAllMsgDestreamers();
     }
     if (cleanupEndpoint) {
@@ -2566,16 +2673,21 @@ public class Connection implements Runnable {
    * sends a serialized message to the other end of this connection. This is used by the
    * DirectChannel in GemFire when the message is going to be sent to multiple recipients.
    * 
+   * @param flushBatch true if batch sends are enabled and the buffer should be written to the
+   *        socket promptly instead of waiting for the batch to fill or the flush time to expire
    * @throws ConnectionException if the conduit has stopped
    */
   public void sendPreserialized(ByteBuffer buffer, boolean cacheContentChanges,
-      DistributionMessage msg) throws IOException, ConnectionException {
+      DistributionMessage msg, boolean flushBatch) throws IOException, ConnectionException {
     if (!connected) {
       throw new ConnectionException(
           LocalizedStrings.Connection_NOT_CONNECTED_TO_0.toLocalizedString(this.remoteAddr));
     }
     if (this.batchFlusher != null) {
       batchSend(buffer);
+      if (flushBatch) {
+        this.batchFlusher.requestFlush();
+      }
       return;
     }
     final boolean origSocketInUse = this.socketInUse;
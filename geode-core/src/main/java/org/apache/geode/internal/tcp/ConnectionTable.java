@@ -102,6 +102,32 @@ public class ConnectionTable {
    */
   private final List threadConnMaps;
 
+  /**
+   * Members that this thread sends ordered messages to over the shared ordered connection because
+   * MAX_THREAD_OWNED_CONNECTIONS_PER_MEMBER was reached when it first needed one. A thread sticks
+   * with the connection it started on so that its messages stay in order.
+   */
+  private final ThreadLocal<Set<DistributedMember>> threadSharedOrderedMembers =
+      new ThreadLocal<Set<DistributedMember>>();
+
+  /**
+   * List of the threadSharedOrderedMembers sets, so that a departed member can be removed from
+   * all of them
+   * 
+   * Accesses to the sets in this list need to be synchronized on their instance.
+   */
+  private final List<Reference<Set<DistributedMember>>> threadSharedOrderedMemberSets =
+      new ArrayList<Reference<Set<DistributedMember>>>();
+
+  /**
+   * The most thread-owned ordered connections to create to any one member. Threads that want one
+   * after that share the member's ordered connection instead, which bounds the number of sockets
+   * and remote reader threads to O(members) instead of O(threads x members). The limit is soft;
+   * threads racing to connect may briefly exceed it. Zero (the default) means no limit.
+   */
+  private final static int MAX_THREAD_OWNED_CONNECTIONS_PER_MEMBER =
+      Integer.getInteger("p2p.maxThreadOwnedConnectionsPerMember", 0).intValue();
+
   /**
    * Timer to kill idle threads
    * 
@@ -549,6 +575,30 @@ public class ConnectionTable {
     if (result != null)
       return result;
 
+    if (MAX_THREAD_OWNED_CONNECTIONS_PER_MEMBER > 0
+        && getThreadOwnedConnectionCount(id) >= MAX_THREAD_OWNED_CONNECTIONS_PER_MEMBER) {
+      Set<DistributedMember> sharedMembers = this.threadSharedOrderedMembers.get();
+      if (sharedMembers == null) {
+        sharedMembers = new HashSet<DistributedMember>();
+        synchronized (this.threadSharedOrderedMemberSets) {
+          // check for stale references and remove them.
+          for (Iterator<Reference<Set<DistributedMember>>> it =
+              this.threadSharedOrderedMemberSets.iterator(); it.hasNext();) {
+            if (it.next().get() == null) {
+              it.remove();
+            }
+          }
+          this.threadSharedOrderedMemberSets
+              .add(new WeakReference<Set<DistributedMember>>(sharedMembers));
+        }
+        this.threadSharedOrderedMembers.set(sharedMembers);
+      }
+      synchronized (sharedMembers) {
+        sharedMembers.add(id);
+      }
+      return getUnorderedOrConserveSockets(id, false, true, startTime, ackTimeout, ackSATimeout);
+    }
+
     // OK, we have to create a new connection.
     result = Connection.createSender(owner.getMembershipManager(), this, true /* preserveOrder */,
         id, false /* shared */, startTime, ackTimeout, ackSATimeout);
@@ -595,6 +645,53 @@ public class ConnectionTable {
     return result;
   }
 
+  private int getThreadOwnedConnectionCount(DistributedMember id) {
+    ConcurrentMap cm = this.threadConnectionMap;
+    if (cm == null) {
+      return 0;
+    }
+    ArrayList al = (ArrayList) cm.get(id);
+    if (al == null) {
+      return 0;
+    }
+    synchronized (al) {
+      return al.size();
+    }
+  }
+
+  /**
+   * @return true if this thread was told to share the ordered connection to the given member
+   */
+  private boolean threadUsesSharedOrderedConnection(DistributedMember id) {
+    Set<DistributedMember> sharedMembers = this.threadSharedOrderedMembers.get();
+    if (sharedMembers == null) {
+      return false;
+    }
+    synchronized (sharedMembers) {
+      return sharedMembers.contains(id);
+    }
+  }
+
+  /**
+   * Forgets that threads were told to share the ordered connection to the given member, so that
+   * the sets do not keep departed members
+   */
+  private void removeThreadSharedOrderedMember(DistributedMember memberID) {
+    synchronized (this.threadSharedOrderedMemberSets) {
+      for (Iterator<Reference<Set<DistributedMember>>> it =
+          this.threadSharedOrderedMemberSets.iterator(); it.hasNext();) {
+        Set<DistributedMember> sharedMembers = it.next().get();
+        if (sharedMembers == null) {
+          it.remove();
+        } else {
+          synchronized (sharedMembers) {
+            sharedMembers.remove(memberID);
+          }
+        }
+      }
+    }
+  }
+
   /** schedule an idle-connection timeout task */
   private void scheduleIdleTimeout(Connection conn) {
     if (conn == null) {
@@ -657,7 +754,7 @@ public class ConnectionTable {
     }
     Connection result = null;
     boolean threadOwnsResources = threadOwnsResources();
-    if (!preserveOrder || !threadOwnsResources) {
+    if (!preserveOrder || !threadOwnsResources || threadUsesSharedOrderedConnection(id)) {
       result = getUnorderedOrConserveSockets(id, threadOwnsResources, preserveOrder, startTime,
           ackTimeout, ackSATimeout);
     } else {
@@ -765,6 +862,9 @@ public class ConnectionTable {
         this.threadConnMaps.clear();
       }
     }
+    synchronized (this.threadSharedOrderedMemberSets) {
+      this.threadSharedOrderedMemberSets.clear();
+    }
     {
       Executor localExec = this.p2pReaderThreadPool;
       if (localExec != null) {
@@ -852,6 +952,7 @@ public class ConnectionTable {
     if (this.closed) {
       return;
     }
+    removeThreadSharedOrderedMember(memberID);
     boolean needsRemoval = false;
     synchronized (this.orderedConnectionMap) {
       if (this.orderedConnectionMap.get(memberID) != null)
@@ -1053,6 +1154,7 @@ public class ConnectionTable {
   }
 
   public void removeAndCloseThreadOwnedSockets() {
+    this.threadSharedOrderedMembers.remove();
     Map m = (Map) this.threadOrderedConnMap.get();
     if (m != null) {
       // Static cleanup may intervene; we MUST synchronize.
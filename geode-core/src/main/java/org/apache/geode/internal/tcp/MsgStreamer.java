@@ -306,12 +306,16 @@ public class MsgStreamer extends OutputStream
       // we can't conflate chunked messages; this fixes bug 36633
       conflationMsg = this.msg;
     }
+    // a sender or a reply processor is waiting on this message so don't let it sit in a batch
+    final boolean flushBatch =
+        lastFlushForMessage && (this.directReply || this.msg.getProcessorId() != 0);
     this.stats.endMsgSerialization(this.serStartTime);
     for (Iterator it = this.cons.iterator(); it.hasNext();) {
       Connection con = (Connection) it.next();
       try {
         con.sendPreserialized(this.buffer,
-            lastFlushForMessage && this.msg.containsRegionContentChange(), conflationMsg);
+            lastFlushForMessage && this.msg.containsRegionContentChange(), conflationMsg,
+            flushBatch);
       } catch (IOException ex) {
         it.remove();
         if (this.ce == null)
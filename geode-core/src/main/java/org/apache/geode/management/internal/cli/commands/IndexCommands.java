@@ -162,6 +162,8 @@ public class IndexCommands extends AbstractCommandsSupport {
           indexData.accumulate("Update Time", adapter.getTotalUpdateTime());
           indexData.accumulate("Keys", adapter.getNumberOfKeys());
           indexData.accumulate("Values", adapter.getNumberOfValues());
+          indexData.accumulate("Buckets Populating",
+              adapter.getNumberOfBucketIndexesPopulating());
         }
       }
 
@@ -693,6 +695,11 @@ public class IndexCommands extends AbstractCommandsSupport {
       return (getIndexStatisticsDetails() != null
           ? StringUtils.valueOf(getIndexStatisticsDetails().getTotalUses(), "") : "");
     }
+
+    public String getNumberOfBucketIndexesPopulating() {
+      return (getIndexStatisticsDetails() != null ? StringUtils
+          .valueOf(getIndexStatisticsDetails().getNumberOfBucketIndexesPopulating(), "") : "");
+    }
   }
 
 }
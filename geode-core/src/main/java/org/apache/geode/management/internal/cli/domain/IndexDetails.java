@@ -19,6 +19,7 @@ import java.io.Serializable;
 
 import org.apache.geode.cache.query.Index;
 import org.apache.geode.cache.query.IndexStatistics;
+import org.apache.geode.cache.query.internal.index.PartitionedIndex;
 import org.apache.geode.distributed.DistributedMember;
 import org.apache.geode.internal.lang.ObjectUtils;
 import org.apache.geode.internal.lang.StringUtils;
@@ -87,6 +88,10 @@ public class IndexDetails implements Comparable<IndexDetails>, Serializable {
 
     if (index.getStatistics() != null) {
       setIndexStatisticsDetails(createIndexStatisticsDetails(index.getStatistics()));
+      if (index instanceof PartitionedIndex) {
+        getIndexStatisticsDetails().setNumberOfBucketIndexesPopulating(
+            ((PartitionedIndex) index).getNumberOfBucketIndexesPopulating());
+      }
     }
   }
 
@@ -231,11 +236,19 @@ public class IndexDetails implements Comparable<IndexDetails>, Serializable {
 
   public static class IndexStatisticsDetails implements Serializable {
 
+    /**
+     * The value computed before numberOfBucketIndexesPopulating was added, so that members and
+     * managers of either version read each other's statistics. The count is null when it comes
+     * from a member that does not send it.
+     */
+    private static final long serialVersionUID = 6285978722496926946L;
+
     private Long numberOfKeys;
     private Long numberOfUpdates;
     private Long numberOfValues;
     private Long totalUpdateTime;
     private Long totalUses;
+    private Integer numberOfBucketIndexesPopulating;
 
     public Long getNumberOfKeys() {
       return numberOfKeys;
@@ -277,6 +290,14 @@ public class IndexDetails implements Comparable<IndexDetails>, Serializable {
       this.totalUses = totalUses;
     }
 
+    public Integer getNumberOfBucketIndexesPopulating() {
+      return numberOfBucketIndexesPopulating;
+    }
+
+    public void setNumberOfBucketIndexesPopulating(final Integer numberOfBucketIndexesPopulating) {
+      this.numberOfBucketIndexesPopulating = numberOfBucketIndexesPopulating;
+    }
+
     @Override
     public String toString() {
       final StringBuilder buffer = new StringBuilder(getClass().getSimpleName());
@@ -286,6 +307,8 @@ public class IndexDetails implements Comparable<IndexDetails>, Serializable {
       buffer.append(", numberOfValues = ").append(getNumberOfValues());
       buffer.append(", totalUpdateTime = ").append(getTotalUpdateTime());
       buffer.append(", totalUses").append(getTotalUses());
+      buffer.append(", numberOfBucketIndexesPopulating = ")
+          .append(getNumberOfBucketIndexesPopulating());
       buffer.append("}");
 
       return buffer.toString();
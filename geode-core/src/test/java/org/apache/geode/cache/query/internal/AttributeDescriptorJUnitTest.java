@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.EntryDestroyedException;
+import org.apache.geode.cache.query.NameNotFoundException;
+import org.apache.geode.cache.query.QueryInvocationTargetException;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class AttributeDescriptorJUnitTest {
+
+  public static class WithField {
+    public int value = 1;
+    public static String constant = "constant";
+  }
+
+  public static class WithGetter {
+    public int getValue() {
+      return 2;
+    }
+  }
+
+  public static class WithMethod {
+    public long value() {
+      return 3L;
+    }
+
+    public Object getFailure() {
+      throw new IllegalStateException("failure");
+    }
+
+    public Object getDestroyed() {
+      throw new EntryDestroyedException("destroyed");
+    }
+
+    public Object getOverflow() {
+      throw new StackOverflowError("overflow");
+    }
+  }
+
+  @Test
+  public void readsFieldsGettersAndMethods() throws Exception {
+    AttributeDescriptor descriptor = new AttributeDescriptor("value");
+    assertEquals(1, descriptor.read(new WithField()));
+    assertEquals(2, descriptor.read(new WithGetter()));
+    assertEquals(3L, descriptor.read(new WithMethod()));
+    // back to a class that was read before
+    assertEquals(1, descriptor.read(new WithField()));
+  }
+
+  @Test
+  public void readsStaticField() throws Exception {
+    assertEquals("constant", new AttributeDescriptor("constant").read(new WithField()));
+  }
+
+  @Test
+  public void nullTargetIsUndefined() throws Exception {
+    assertSame(QueryService.UNDEFINED, new AttributeDescriptor("value").read(null));
+  }
+
+  @Test
+  public void exceptionFromMethodIsWrapped() throws Exception {
+    try {
+      new AttributeDescriptor("failure").read(new WithMethod());
+      fail("expected QueryInvocationTargetException");
+    } catch (QueryInvocationTargetException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void errorFromMethodIsWrapped() throws Exception {
+    try {
+      new AttributeDescriptor("overflow").read(new WithMethod());
+      fail("expected QueryInvocationTargetException");
+    } catch (QueryInvocationTargetException e) {
+      assertTrue(e.getCause() instanceof InvocationTargetException);
+      assertTrue(e.getCause().getCause() instanceof StackOverflowError);
+    }
+  }
+
+  @Test
+  public void destroyedEntryIsUndefined() throws Exception {
+    assertSame(QueryService.UNDEFINED,
+        new AttributeDescriptor("destroyed").read(new WithMethod()));
+  }
+
+  @Test(expected = NameNotFoundException.class)
+  public void missingAttributeIsNotFound() throws Exception {
+    new AttributeDescriptor("missing").read(new WithField());
+  }
+}
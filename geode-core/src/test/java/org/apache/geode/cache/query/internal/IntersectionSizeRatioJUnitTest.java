@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.query.CacheUtils;
+import org.apache.geode.cache.query.Index;
+import org.apache.geode.cache.query.IndexType;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests that AND junctions which stop intersecting index results once the next index result is
+ * much larger than the results so far return the same results as a scan of regions without
+ * indexes. The ratio is read when CompiledValue is loaded, so it is set before any test runs.
+ */
+@Category(IntegrationTest.class)
+public class IntersectionSizeRatioJUnitTest {
+
+  private static final int NUM_PORTFOLIOS = 2000;
+
+  /**
+   * small enough that a status index result (half the portfolios) is too large to intersect with
+   * 200 results, but not with 1000
+   */
+  private static final int RATIO = 2;
+
+  private QueryService qs;
+
+  private IndexLookupCounter counter;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    System.setProperty(CompiledValue.INTERSECTION_SIZE_RATIO_PROP_STR, "" + RATIO);
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws Exception {
+    System.clearProperty(CompiledValue.INTERSECTION_SIZE_RATIO_PROP_STR);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    CacheUtils.startCache();
+    for (String name : new String[] {"portfolios", "portfolios2", "scanPortfolios",
+        "scanPortfolios2"}) {
+      Region region = CacheUtils.createRegion(name, Portfolio.class);
+      for (int i = 0; i < NUM_PORTFOLIOS; i++) {
+        region.put(i, new Portfolio(i));
+      }
+    }
+    this.qs = CacheUtils.getQueryService();
+    this.qs.createIndex("idIndex", IndexType.FUNCTIONAL, "p.ID", "/portfolios p");
+    this.qs.createIndex("statusIndex", IndexType.FUNCTIONAL, "p.status", "/portfolios p");
+    this.qs.createIndex("idIndex2", IndexType.FUNCTIONAL, "p2.ID", "/portfolios2 p2");
+    this.counter = new IndexLookupCounter();
+    QueryObserverHolder.setInstance(this.counter);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    QueryObserverHolder.setInstance(new QueryObserverAdapter());
+    CacheUtils.closeCache();
+  }
+
+  @Test
+  public void testRatioReadFromSystemProperty() {
+    assertEquals(RATIO, CompiledValue.intersectionSizeRatio);
+  }
+
+  @Test
+  public void testAndJunction() throws Exception {
+    String query = "select * from /portfolios p where p.ID < 200 and p.status = 'active'";
+    assertCutoffSkipsLookupWithSameResults(query, 100);
+  }
+
+  @Test
+  public void testRangeJunction() throws Exception {
+    String query =
+        "select * from /portfolios p where p.ID >= 100 and p.ID < 300 and p.status = 'active'";
+    assertCutoffSkipsLookupWithSameResults(query, 100);
+  }
+
+  @Test
+  public void testGroupJunctionInCompositeGroupJunction() throws Exception {
+    String query = "select * from /portfolios p, /portfolios2 p2 where p.ID = p2.ID"
+        + " and p.ID < 200 and p.status = 'active'";
+    Set withCutoff = execute(query);
+    Set scanned = executeWithoutIndexes(query);
+    assertEquals(100, scanned.size());
+    assertEquals(scanned, withCutoff);
+  }
+
+  @Test
+  public void testResultsPassedInDoNotSkipFirstIndex() throws Exception {
+    // the composite group junction evaluates p2 first and passes its results on. The group
+    // junction of p must still use its own smallest index before it compares sizes.
+    String query = "select * from /portfolios p, /portfolios2 p2 where p.ID = p2.ID"
+        + " and p2.ID < 10 and p.ID < 200 and p.status = 'active'";
+    Set withCutoff = execute(query);
+    Set scanned = executeWithoutIndexes(query);
+    assertEquals(5, scanned.size());
+    assertEquals(scanned, withCutoff);
+  }
+
+  private void assertCutoffSkipsLookupWithSameResults(String query, int expectedSize)
+      throws Exception {
+    Set scanned = executeWithoutIndexes(query);
+    this.counter.indexesLookedUp.clear();
+    Set withCutoff = execute(query);
+
+    assertEquals(expectedSize, scanned.size());
+    assertEquals(scanned, withCutoff);
+    assertTrue(this.counter.indexesLookedUp.contains("idIndex"));
+    assertFalse("the status index result should not have been intersected",
+        this.counter.indexesLookedUp.contains("statusIndex"));
+  }
+
+  private Set executeWithoutIndexes(String query) throws Exception {
+    return execute(query.replace("/portfolios", "/scanPortfolios"));
+  }
+
+  private Set execute(String query) throws Exception {
+    SelectResults results = (SelectResults) this.qs.newQuery(query).execute();
+    Set set = new HashSet(results.asList());
+    assertEquals(results.size(), set.size());
+    return set;
+  }
+
+  private static class IndexLookupCounter extends QueryObserverAdapter {
+    final Set<String> indexesLookedUp = new HashSet<String>();
+
+    @Override
+    public void beforeIndexLookup(Index index, int oper, Object key) {
+      this.indexesLookedUp.add(index.getName());
+    }
+
+    @Override
+    public void beforeIndexLookup(Index index, int lowerBoundOperator, Object lowerBoundKey,
+        int upperBoundOperator, Object upperBoundKey, Set NotEqualKeys) {
+      this.indexesLookedUp.add(index.getName());
+    }
+  }
+}
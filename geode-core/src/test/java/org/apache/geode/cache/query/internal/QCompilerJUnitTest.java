@@ -414,6 +414,27 @@ public class QCompilerJUnitTest {
     CacheUtils.closeCache();
   }
 
+  @Test
+  public void testNegativeLiteralCompiledAgainFromParseCache() throws Exception {
+    QCompiler.clearParseCache();
+    for (int i = 0; i < 2; i++) {
+      CompiledValue value = new QCompiler().compileQuery("-5");
+      assertEquals(-5, value.evaluate(context));
+    }
+  }
+
+  @Test
+  public void testTypeNameCompiledAgainFromParseCache() throws Exception {
+    QCompiler.clearParseCache();
+    String queryString =
+        "IMPORT org.apache.geode.cache.\"query\".data.Position;SELECT DISTINCT pos.secId FROM /exampleRegion, pos IN positions.values TYPE Position WHERE iD > 0";
+    CompiledValue first = new QCompiler().compileQuery(queryString);
+    CompiledValue second = new QCompiler().compileQuery(queryString);
+    assertTrue(first instanceof CompiledSelect);
+    assertTrue(second instanceof CompiledSelect);
+    assertTrue(first != second);
+  }
+
   @Test
   public void testLowestString() {
     SortedMap map = new TreeMap();
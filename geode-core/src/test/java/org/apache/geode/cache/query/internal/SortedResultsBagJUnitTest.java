@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+/**
+ * Test SortedResultsBag bounded to a maximum size
+ */
+@Category(UnitTest.class)
+public class SortedResultsBagJUnitTest {
+
+  private static final Comparator<Integer> NATURAL = (a, b) -> a.compareTo(b);
+
+  @Test
+  public void boundedBagKeepsSmallestElements() {
+    SortedResultsBag<Integer> bag = new SortedResultsBag<Integer>(NATURAL, true);
+    bag.setMaxSize(3);
+    for (int i : new int[] {7, 3, 9, 1, 5, 3, 8}) {
+      bag.add(i);
+    }
+    assertEquals(3, bag.size());
+    assertEquals(Arrays.asList(1, 3, 3), toList(bag));
+  }
+
+  @Test
+  public void boundedBagDropsNullsEmittedLast() {
+    SortedResultsBag<Integer> bag = new SortedResultsBag<Integer>(NATURAL, false);
+    bag.setMaxSize(2);
+    bag.add(null);
+    bag.add(4);
+    bag.add(2);
+    assertEquals(Arrays.asList(2, 4), toList(bag));
+  }
+
+  @Test
+  public void boundedBagKeepsNullsEmittedFirst() {
+    SortedResultsBag<Integer> bag = new SortedResultsBag<Integer>(NATURAL, true);
+    bag.setMaxSize(2);
+    bag.add(4);
+    bag.add(null);
+    bag.add(2);
+    assertEquals(Arrays.asList(null, 2), toList(bag));
+  }
+
+  @Test
+  public void unboundedBagKeepsEverything() {
+    SortedResultsBag<Integer> bag = new SortedResultsBag<Integer>(NATURAL, true);
+    for (int i = 10; i > 0; i--) {
+      bag.add(i);
+    }
+    assertEquals(10, bag.size());
+  }
+
+  private List<Object> toList(SortedResultsBag<Integer> bag) {
+    List<Object> list = new ArrayList<Object>();
+    for (Object o : bag) {
+      list.add(o);
+    }
+    return list;
+  }
+}
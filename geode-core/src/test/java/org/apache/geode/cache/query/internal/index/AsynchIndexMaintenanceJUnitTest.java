@@ -18,8 +18,11 @@
 package org.apache.geode.cache.query.internal.index;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CyclicBarrier;
 
@@ -36,6 +39,7 @@ import org.apache.geode.cache.query.IndexType;
 import org.apache.geode.cache.query.QueryService;
 import org.apache.geode.cache.query.data.Portfolio;
 import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.RegionEntry;
 import org.apache.geode.test.dunit.ThreadUtils;
 import org.apache.geode.test.dunit.Wait;
 import org.apache.geode.test.dunit.WaitCriterion;
@@ -252,4 +256,57 @@ public class AsynchIndexMaintenanceJUnitTest {
     assertFalse(exceptionOccured);
   }
 
+  @Test
+  public void testWaitForPendingUpdates() throws Exception {
+    final Index ri = qs.createIndex("statusIndex", IndexType.FUNCTIONAL, "p.getID", "/portfolio p");
+    for (int i = 0; i < 100; ++i) {
+      region.put("" + (i + 1), new Portfolio(i + 1));
+    }
+    IndexManager indexManager = IndexUtils.getIndexManager(region, false);
+    assertTrue(indexManager.waitForPendingUpdates(30 * 1000));
+    assertEquals(100, getIndexSize(ri));
+    assertTrue(indexManager.getUpdaterThread().isDone());
+  }
+
+  @Test
+  public void testCoalesceTasksSkipsUpdatesFollowedByUpdatesOfSameEntry() {
+    RegionEntry entry = mock(RegionEntry.class);
+    RegionEntry other = mock(RegionEntry.class);
+    List<Object[]> batch = new ArrayList<Object[]>();
+    batch.add(task(IndexManager.ADD_ENTRY, entry, IndexProtocol.OTHER_OP));
+    batch.add(task(IndexManager.REMOVE_ENTRY, entry, IndexProtocol.BEFORE_UPDATE_OP));
+    batch.add(task(IndexManager.REMOVE_ENTRY, other, IndexProtocol.BEFORE_UPDATE_OP));
+    batch.add(task(IndexManager.UPDATE_ENTRY, entry, IndexProtocol.AFTER_UPDATE_OP));
+    batch.add(task(IndexManager.UPDATE_ENTRY, other, IndexProtocol.AFTER_UPDATE_OP));
+    batch.add(task(IndexManager.REMOVE_ENTRY, entry, IndexProtocol.BEFORE_UPDATE_OP));
+    batch.add(task(IndexManager.UPDATE_ENTRY, entry, IndexProtocol.AFTER_UPDATE_OP));
+
+    List<Object[]> tasks = IndexManager.coalesceTasks(batch);
+
+    assertEquals(5, tasks.size());
+    assertSame(batch.get(0), tasks.get(0));
+    assertSame(batch.get(2), tasks.get(1));
+    assertSame(batch.get(4), tasks.get(2));
+    assertSame(batch.get(5), tasks.get(3));
+    assertSame(batch.get(6), tasks.get(4));
+  }
+
+  @Test
+  public void testCoalesceTasksKeepsRemovals() {
+    RegionEntry entry = mock(RegionEntry.class);
+    List<Object[]> batch = new ArrayList<Object[]>();
+    batch.add(task(IndexManager.UPDATE_ENTRY, entry, IndexProtocol.AFTER_UPDATE_OP));
+    batch.add(task(IndexManager.REMOVE_ENTRY, entry, IndexProtocol.OTHER_OP));
+    batch.add(task(IndexManager.ADD_ENTRY, entry, IndexProtocol.OTHER_OP));
+    batch.add(task(IndexManager.RECREATE_INDEX, null, IndexProtocol.OTHER_OP));
+
+    List<Object[]> tasks = IndexManager.coalesceTasks(batch);
+
+    assertEquals(batch, tasks);
+  }
+
+  private static Object[] task(int action, RegionEntry entry, int opCode) {
+    return new Object[] {action, entry, opCode};
+  }
+
 }
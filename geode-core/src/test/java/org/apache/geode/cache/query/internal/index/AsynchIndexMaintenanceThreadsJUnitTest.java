@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.query.CacheUtils;
+import org.apache.geode.cache.query.IndexType;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests asynchronous index maintenance with several updater threads per region. The number of
+ * threads is read when IndexManager is loaded, so it is set before any test runs.
+ */
+@Category(IntegrationTest.class)
+public class AsynchIndexMaintenanceThreadsJUnitTest {
+
+  private static final String THREADS_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "AsynchIndexMaintenanceThreads";
+
+  private Region region;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    System.setProperty(THREADS_PROPERTY, "4");
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws Exception {
+    System.clearProperty(THREADS_PROPERTY);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    CacheUtils.startCache();
+    this.region = CacheUtils.createRegion("portfolio", Portfolio.class, false);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    CacheUtils.closeCache();
+  }
+
+  @Test
+  public void testConcurrentRecreatesWithUpdates() throws Exception {
+    CacheUtils.getQueryService().createIndex("idIndex", IndexType.FUNCTIONAL, "p.getID",
+        "/portfolio p");
+    final IndexManager indexManager = IndexUtils.getIndexManager(this.region, false);
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int t = 0; t < 4; t++) {
+      final int base = t * 100;
+      threads.add(new Thread(() -> {
+        for (int i = base; i < base + 100; i++) {
+          this.region.put("" + i, new Portfolio(i));
+          if (i % 25 == 0) {
+            try {
+              indexManager.rerunIndexCreationQuery();
+            } catch (Exception e) {
+              throw new AssertionError(e);
+            }
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join(60000);
+      assertFalse(thread.isAlive());
+    }
+
+    // concurrent recreates queued in different orders would leave the updaters waiting on each
+    // other
+    assertTrue(indexManager.waitForPendingUpdates(60000));
+    assertTrue(indexManager.getUpdaterThread().isAlive());
+    SelectResults results = (SelectResults) CacheUtils.getQueryService()
+        .newQuery("select * from /portfolio p where p.getID >= 0").execute();
+    assertEquals(400, results.size());
+  }
+}
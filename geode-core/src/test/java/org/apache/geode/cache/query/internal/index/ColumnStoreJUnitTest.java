@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.BitSet;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
+import org.apache.geode.pdx.PdxInstance;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class ColumnStoreJUnitTest {
+
+  private static PdxInstance pdx(Object price, Object quantity) {
+    PdxInstance pdx = mock(PdxInstance.class);
+    when(pdx.getField("price")).thenReturn(price);
+    when(pdx.getField("quantity")).thenReturn(quantity);
+    return pdx;
+  }
+
+  private static ColumnStore newStore() {
+    return new ColumnStore(null, new String[] {"price", "quantity"});
+  }
+
+  @Test
+  public void parsesColumnarFields() {
+    Map<String, String[]> fields =
+        ColumnStore.parseColumnarFields("/orders:price, quantity;trades:amount;bad");
+    assertEquals(2, fields.size());
+    assertArrayEquals(new String[] {"price", "quantity"}, fields.get("/orders"));
+    assertArrayEquals(new String[] {"amount"}, fields.get("/trades"));
+    assertTrue(ColumnStore.parseColumnarFields(null).isEmpty());
+  }
+
+  @Test
+  public void keepsValuesOfUpdatedEntries() {
+    ColumnStore store = newStore();
+    store.update("a", pdx(10.5d, 1));
+    store.update("b", pdx(20.0d, 2));
+    store.update("a", pdx(30.0d, 3));
+    BitSet slots = store.getLiveSlots();
+    assertEquals(2, slots.cardinality());
+    int column = store.getColumn("quantity");
+    int sum = 0;
+    for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+      sum += (Integer) store.getValue(column, slot);
+    }
+    assertEquals(5, sum);
+    assertEquals(-1, store.getColumn("missing"));
+  }
+
+  @Test
+  public void removedSlotsAreReused() {
+    ColumnStore store = newStore();
+    for (int i = 0; i < 100; i++) {
+      store.update(i, pdx((double) i, i));
+    }
+    for (int i = 0; i < 50; i++) {
+      store.update(i, null);
+    }
+    assertEquals(50, store.getLiveSlots().cardinality());
+    for (int i = 0; i < 50; i++) {
+      store.update(i, pdx((double) i, i));
+    }
+    assertEquals(100, store.getLiveSlots().cardinality());
+    assertEquals(99, store.getLiveSlots().length() - 1);
+  }
+
+  @Test
+  public void filtersIntegralAndFloatingPointColumns() {
+    ColumnStore store = newStore();
+    for (int i = 0; i < 10; i++) {
+      store.update(i, pdx(i * 1.5d, i));
+    }
+    BitSet slots = store.getLiveSlots();
+    assertTrue(store.filter(slots, store.getColumn("quantity"), OQLLexerTokenTypes.TOK_GE, 3));
+    assertTrue(store.filter(slots, store.getColumn("price"), OQLLexerTokenTypes.TOK_LT, 9L));
+    // quantity 3, 4 and 5 have a price under 9
+    assertEquals(3, slots.cardinality());
+    assertTrue(store.filter(slots, store.getColumn("quantity"), OQLLexerTokenTypes.TOK_NE, 4.0f));
+    assertEquals(2, slots.cardinality());
+    assertFalse(store.filter(slots, store.getColumn("quantity"), OQLLexerTokenTypes.TOK_EQ, "4"));
+  }
+
+  @Test
+  public void incompleteWhileSomeValueIsUnsupported() {
+    ColumnStore store = newStore();
+    store.update("a", pdx(1.0d, 1));
+    store.update("b", pdx(2.0d, null));
+    assertFalse(store.isComplete());
+    store.update("c", "not pdx");
+    store.update("b", pdx(2.0d, 2));
+    assertFalse(store.isComplete());
+    store.update("c", null);
+    assertTrue(store.isComplete());
+    // a field holding a different type than the column
+    store.update("d", pdx(3.0d, 3L));
+    assertFalse(store.isComplete());
+    assertEquals(2, store.getLiveSlots().cardinality());
+  }
+
+  @Test
+  public void clearForgetsColumnTypes() {
+    ColumnStore store = newStore();
+    store.update("a", pdx(1.0d, 1));
+    store.clear();
+    assertEquals(0, store.getLiveSlots().cardinality());
+    // after a clear the columns take the types of the new values
+    store.update("a", pdx(1, 1L));
+    assertTrue(store.isComplete());
+    assertEquals(Integer.valueOf(1), store.getValue(store.getColumn("price"), 0));
+    assertEquals(Long.valueOf(1L), store.getValue(store.getColumn("quantity"), 0));
+  }
+}
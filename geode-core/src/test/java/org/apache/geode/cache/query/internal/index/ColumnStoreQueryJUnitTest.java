@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.CacheUtils;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests that aggregate queries answered from a {@link ColumnStore} give the same results as
+ * queries that read the entries of a region without one. The columns are configured with
+ * {@link ColumnStore#COLUMNAR_FIELDS_PROPERTY}, which is read when ColumnStore is loaded, so it is
+ * set before any test runs.
+ */
+@Category(IntegrationTest.class)
+public class ColumnStoreQueryJUnitTest {
+
+  private static final String[] QUERIES = new String[] {"select sum(o.price) from /orders o",
+      "select sum(o.price) from /orders o where o.quantity >= 5",
+      "select max(o.quantity), min(o.price), avg(o.price) from /orders o"
+          + " where o.price < 40.0 and 2 < o.quantity",
+      "select sum(o.quantity) from /orders o where o.quantity <> 7"};
+
+  private Cache cache;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    System.setProperty(ColumnStore.COLUMNAR_FIELDS_PROPERTY,
+        "/orders:price,quantity;/partitionedOrders:price,quantity");
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws Exception {
+    System.clearProperty(ColumnStore.COLUMNAR_FIELDS_PROPERTY);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    CacheUtils.startCache();
+    this.cache = CacheUtils.getCache();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    CacheUtils.closeCache();
+  }
+
+  @Test
+  public void testAggregatesFromColumnsMatchScan() throws Exception {
+    Region region = createRegion("orders", RegionShortcut.REPLICATE);
+    createRegion("ordersScan", RegionShortcut.REPLICATE);
+    for (String query : QUERIES) {
+      assertEquals(query, execute(query, "/ordersScan"), execute(query, "/orders"));
+      ColumnStore store = IndexUtils.getIndexManager(region, false).getColumnStore();
+      assertNotNull(store);
+      assertTrue(store.isComplete());
+    }
+  }
+
+  @Test
+  public void testIncompleteColumnsFallBackToScan() throws Exception {
+    Region region = createRegion("orders", RegionShortcut.REPLICATE);
+    Region scanRegion = createRegion("ordersScan", RegionShortcut.REPLICATE);
+    execute(QUERIES[0], "/orders");
+    // a quantity that is not an int cannot be kept in the int column
+    for (Region r : new Region[] {region, scanRegion}) {
+      r.put(100, this.cache.createPdxInstanceFactory("LongOrder").writeDouble("price", 100.5d)
+          .writeLong("quantity", 3L).create());
+    }
+    ColumnStore store = IndexUtils.getIndexManager(region, false).getColumnStore();
+    assertFalse(store.isComplete());
+    for (String query : QUERIES) {
+      assertEquals(query, execute(query, "/ordersScan"), execute(query, "/orders"));
+    }
+  }
+
+  @Test
+  public void testAggregatesFromBucketColumnsMatchScan() throws Exception {
+    PartitionedRegion region =
+        (PartitionedRegion) createRegion("partitionedOrders", RegionShortcut.PARTITION);
+    createRegion("partitionedOrdersScan", RegionShortcut.PARTITION);
+    for (String query : QUERIES) {
+      assertEquals(query, execute(query, "/partitionedOrdersScan"),
+          execute(query, "/partitionedOrders"));
+    }
+    assertFalse(region.getDataStore().getAllLocalBucketRegions().isEmpty());
+    for (BucketRegion bucket : region.getDataStore().getAllLocalBucketRegions()) {
+      IndexManager indexManager = IndexUtils.getIndexManager(bucket, false);
+      assertNotNull(indexManager);
+      assertNotNull(indexManager.getColumnStore());
+      assertTrue(indexManager.getColumnStore().isComplete());
+    }
+  }
+
+  private Region createRegion(String name, RegionShortcut shortcut) {
+    Region region = this.cache.createRegionFactory(shortcut).create(name);
+    for (int i = 0; i < 100; i++) {
+      // prices are exact in binary so that sums do not depend on the order of the values
+      region.put(i, this.cache.createPdxInstanceFactory("Order")
+          .writeDouble("price", i * 0.5d).writeInt("quantity", i % 10).create());
+    }
+    return region;
+  }
+
+  private List execute(String query, String regionPath) throws Exception {
+    return ((SelectResults) this.cache.getQueryService()
+        .newQuery(query.replace("/orders", regionPath)).execute()).asList();
+  }
+}
@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.IntStream;
 
+import it.unimi.dsi.fastutil.HashCommon;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.invocation.InvocationOnMock;
@@ -62,7 +63,11 @@ public class HashIndexSetJUnitTest {
   }
 
   private HashIndexSet createHashIndexSet() {
-    HashIndexSet his = new HashIndexSet();
+    return createHashIndexSet(HashIndexSet.STORE_KEY_HASHES);
+  }
+
+  private HashIndexSet createHashIndexSet(boolean storeKeyHashes) {
+    HashIndexSet his = new HashIndexSet(storeKeyHashes);
     HashIndex.IMQEvaluator mockEvaluator = mock(HashIndex.IMQEvaluator.class);
     when(mockEvaluator.evaluateKey(any(Object.class))).thenAnswer(new EvaluateKeyAnswer());
     his.setEvaluator(mockEvaluator);
@@ -155,6 +160,51 @@ public class HashIndexSetJUnitTest {
     assertTrue(portfolioSet.isEmpty());
   }
 
+  @Test
+  public void testRehashWithStoredHashesDoesNotEvaluateKeys() throws Exception {
+    his = createHashIndexSet(true);
+    addPortfoliosToHashIndexSet(createPortfolioObjects(80, 0), his);
+    his.rehash(1000);
+    verify(his._imqEvaluator, never()).evaluateKey(any(Object.class));
+    // the objects can still be found by their keys
+    Iterator iterator = his.get(1);
+    assertTrue(iterator.hasNext());
+    assertEquals(1, ((Portfolio) iterator.next()).indexKey);
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testGetByKeyWithStoredHashesOnlyEvaluatesKeysWithSameHash() throws Exception {
+    verifyGetByCollidingKey(true, 1);
+  }
+
+  @Test
+  public void testGetByKeyWithoutStoredHashesEvaluatesCollidingKeys() throws Exception {
+    verifyGetByCollidingKey(false, 2);
+  }
+
+  private void verifyGetByCollidingKey(boolean storeKeyHashes, int expectedEvaluations)
+      throws Exception {
+    his = createHashIndexSet(storeKeyHashes);
+    // keys with the same slot in the table but different hashes
+    int mask = his.hashIndexSetProperties.mask;
+    int collidingKey = 2;
+    while ((HashCommon.mix(collidingKey) & mask) != (HashCommon.mix(1) & mask)) {
+      collidingKey++;
+    }
+    Portfolio p1 = new Portfolio(1);
+    p1.indexKey = 1;
+    Portfolio p2 = new Portfolio(2);
+    p2.indexKey = collidingKey;
+    his.add(p1.indexKey, p1);
+    his.add(p2.indexKey, p2);
+    Iterator iterator = his.get(p2.indexKey);
+    assertTrue(iterator.hasNext());
+    assertSame(p2, iterator.next());
+    assertFalse(iterator.hasNext());
+    verify(his._imqEvaluator, times(expectedEvaluations)).evaluateKey(any(Object.class));
+  }
+
   @Test
   public void testShrinkByRehashRetainsAllValues() throws Exception {
     int numEntries = 20;
@@ -18,18 +18,27 @@
 package org.apache.geode.cache.query.internal.index;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import org.apache.geode.Statistics;
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionShortcut;
 import org.apache.geode.cache.query.CacheUtils;
 import org.apache.geode.cache.query.Index;
+import org.apache.geode.cache.query.IndexInvalidException;
 import org.apache.geode.cache.query.IndexStatistics;
 import org.apache.geode.cache.query.IndexType;
 import org.apache.geode.cache.query.Query;
@@ -41,6 +50,8 @@ import org.apache.geode.cache.query.data.Position;
 import org.apache.geode.cache.query.internal.QueryObserver;
 import org.apache.geode.cache.query.internal.QueryObserverAdapter;
 import org.apache.geode.cache.query.internal.QueryObserverHolder;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.test.junit.categories.IntegrationTest;
 
 /**
@@ -76,6 +87,7 @@ public class IndexStatisticsJUnitTest {
 
   @After
   public void tearDown() throws Exception {
+    IndexManager.testHook = null;
     CacheUtils.closeCache();
     IndexManager.TEST_RANGEINDEX_ONLY = false;
   }
@@ -792,6 +804,91 @@ public class IndexStatisticsJUnitTest {
     verifyReadLockCountStatsForRangeIndex(true);
   }
 
+  @Test
+  public void testStatsForPartitionedIndexCreatedOnAllBuckets() throws Exception {
+    final Cache cache = CacheUtils.getCache();
+    Region r1 = cache.createRegionFactory(RegionShortcut.PARTITION).create("exampleRegion");
+    for (int i = 0; i < 200; i++) {
+      r1.put("key-" + i, new Portfolio(i));
+    }
+    int numBuckets = ((PartitionedRegion) r1).getDataStore().getAllLocalBucketRegions().size();
+    PopulatingGaugeHook hook = new PopulatingGaugeHook("status", -1);
+    IndexManager.testHook = hook;
+
+    Index statusIndex = cache.getQueryService().createIndex("status", "status", "/exampleRegion");
+
+    PartitionedIndex prIndex = (PartitionedIndex) statusIndex;
+    assertEquals(numBuckets, prIndex.getBucketIndexes().size());
+    assertEquals(0, prIndex.getNumberOfBucketIndexesPopulating());
+    // every bucket index creation sees the buckets that are not done yet
+    assertEquals(numBuckets, hook.observed.size());
+    for (int populating : hook.observed) {
+      assertTrue(populating > 0 && populating <= numBuckets);
+    }
+    // with more buckets than threads, some bucket starts after another one is done
+    if (numBuckets > Runtime.getRuntime().availableProcessors()) {
+      assertTrue(Collections.min(hook.observed) < numBuckets);
+    }
+    SelectResults sr = (SelectResults) cache.getQueryService()
+        .newQuery("select * from /exampleRegion where status = 'active'").execute();
+    assertEquals(100, sr.size());
+    cache.getQueryService().removeIndexes();
+  }
+
+  @Test
+  public void testPopulatingStatReturnsToZeroWhenBucketIndexCreationFails() throws Exception {
+    final Cache cache = CacheUtils.getCache();
+    Region r1 = cache.createRegionFactory(RegionShortcut.PARTITION).create("exampleRegion");
+    for (int i = 0; i < 200; i++) {
+      r1.put("key-" + i, new Portfolio(i));
+    }
+    PopulatingGaugeHook hook = new PopulatingGaugeHook("status", 3);
+    IndexManager.testHook = hook;
+
+    try {
+      cache.getQueryService().createIndex("status", "status", "/exampleRegion");
+      fail("Expected the creation of the third bucket index to fail");
+    } catch (IndexInvalidException expected) {
+    }
+
+    assertNotNull(hook.prIndexStats);
+    assertEquals(0, hook.prIndexStats.getInt("bucketIndexesPopulating"));
+  }
+
+  /**
+   * Records the bucketIndexesPopulating gauge of a partitioned index each time the creation of one
+   * of its bucket indexes starts, and fails the creation of the given bucket index.
+   */
+  private static class PopulatingGaugeHook implements IndexManager.TestHook {
+    private final String indexName;
+    private final int failingCall;
+    private final AtomicInteger calls = new AtomicInteger();
+    final List<Integer> observed = Collections.synchronizedList(new ArrayList<Integer>());
+    volatile Statistics prIndexStats;
+
+    PopulatingGaugeHook(String indexName, int failingCall) {
+      this.indexName = indexName;
+      this.failingCall = failingCall;
+    }
+
+    public void hook(int spot) throws RuntimeException {
+      if (spot != 1) {
+        return;
+      }
+      for (Statistics stats : InternalDistributedSystem.getAnyInstance()
+          .findStatisticsByTextId(this.indexName)) {
+        int populating = stats.getInt("bucketIndexesPopulating");
+        if (populating > 0) {
+          this.prIndexStats = stats;
+          this.observed.add(populating);
+        }
+      }
+      if (this.calls.incrementAndGet() == this.failingCall) {
+        throw new IllegalStateException("bucket index creation failed");
+      }
+    }
+  }
+
   public void verifyReadLockCountStatsForCompactRangeIndex(boolean isPr) throws Exception {
     QueryObserverImpl observer = new QueryObserverImpl();
     QueryObserver old = QueryObserverHolder.setInstance(observer);
@@ -16,7 +16,13 @@ package org.apache.geode.cache.query.partitioned;
 
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -27,8 +33,14 @@ import org.apache.geode.cache.Region;
 import org.apache.geode.cache.query.Query;
 import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.cache.query.data.PortfolioData;
+import org.apache.geode.cache.query.internal.CompiledValue;
+import org.apache.geode.cache.query.internal.DefaultQuery;
+import org.apache.geode.cache.query.internal.QueryObserverAdapter;
+import org.apache.geode.cache.query.internal.QueryObserverHolder;
 import org.apache.geode.internal.Assert;
+import org.apache.geode.internal.cache.ForceReattemptException;
 import org.apache.geode.internal.cache.PRQueryProcessor;
+import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.PartitionedRegionTestHelper;
 import org.apache.geode.test.junit.categories.IntegrationTest;
 
@@ -137,6 +149,95 @@ public class PRQueryNumThreadsJUnitTest {
     }
   }
 
+  @Test
+  public void testOrderByQueryWithMaxThreadsPerQuery() throws Exception {
+    Region region = PartitionedRegionTestHelper.createPartitionedRegion(regionName, "100", 0);
+    Integer[] values = new Integer[100];
+    for (int j = 0; j < 100; j++) {
+      values[j] = Integer.valueOf(j);
+    }
+    PRQueryProcessor.TEST_NUM_THREADS = 10;
+    PRQueryProcessor.TEST_MAX_THREADS_PER_QUERY = 3;
+    ThreadTrackingObserver observer = new ThreadTrackingObserver();
+    QueryObserverHolder.setInstance(observer);
+    try {
+      populateData(region, values);
+
+      String queryString = "Select distinct p from /" + region.getName() + " p order by p desc";
+      Query query = region.getCache().getQueryService().newQuery(queryString);
+      SelectResults sr = (SelectResults) query.execute();
+
+      Assert.assertTrue(sr.size() == 100);
+      int expected = 99;
+      for (Object value : sr) {
+        Assert.assertTrue(value.equals(Integer.valueOf(expected--)));
+      }
+      // each task queries its buckets on one thread of the pool
+      Assert.assertTrue("Query used " + observer.threads.size() + " threads",
+          observer.threads.size() >= 1 && observer.threads.size() <= 3);
+      for (Thread thread : observer.threads) {
+        Assert.assertTrue(thread.getName(), thread.getName().startsWith("PRQueryProcessor Thread"));
+      }
+    } finally {
+      QueryObserverHolder.reset();
+      PRQueryProcessor.TEST_NUM_THREADS = 0;
+      PRQueryProcessor.TEST_MAX_THREADS_PER_QUERY = 0;
+      region.close();
+    }
+  }
+
+  @Test
+  public void testMaxThreadsPerQueryDefaultsToHalfThePool() throws Exception {
+    PRQueryProcessor.TEST_NUM_THREADS = 10;
+    try {
+      Assert.assertTrue(PRQueryProcessor.getMaxThreadsPerQuery() == 5);
+      PRQueryProcessor.TEST_NUM_THREADS = 1;
+      Assert.assertTrue(PRQueryProcessor.getMaxThreadsPerQuery() == 1);
+    } finally {
+      PRQueryProcessor.TEST_NUM_THREADS = 0;
+    }
+  }
+
+  @Test
+  public void testForceReattemptExceptionFromBucketTaskReachesCaller() throws Exception {
+    PartitionedRegion region = (PartitionedRegion) PartitionedRegionTestHelper
+        .createPartitionedRegion(regionName, "100", 0);
+    Integer[] values = new Integer[100];
+    for (int j = 0; j < 100; j++) {
+      values[j] = Integer.valueOf(j);
+    }
+    PRQueryProcessor.TEST_NUM_THREADS = 10;
+    PRQueryProcessor.TEST_MAX_THREADS_PER_QUERY = 3;
+    try {
+      populateData(region, values);
+
+      // query a bucket this member does not host among the ones it does
+      List<Integer> buckets = new ArrayList<Integer>(region.getDataStore().getAllLocalBucketIds());
+      Integer missingBucket = null;
+      for (int bId = 0; bId < region.getTotalNumberOfBuckets(); bId++) {
+        if (!buckets.contains(bId)) {
+          missingBucket = bId;
+          break;
+        }
+      }
+      Assert.assertTrue(missingBucket != null);
+      buckets.add(buckets.size() / 2, missingBucket);
+
+      DefaultQuery query = (DefaultQuery) region.getCache().getQueryService()
+          .newQuery("Select * from /" + region.getName() + " p");
+      PRQueryProcessor processor = new PRQueryProcessor(region, query, null, buckets);
+      try {
+        processor.executeQuery(new ArrayList<Collection>());
+        fail("Expected ForceReattemptException for bucket " + missingBucket);
+      } catch (ForceReattemptException expected) {
+      }
+    } finally {
+      PRQueryProcessor.TEST_NUM_THREADS = 0;
+      PRQueryProcessor.TEST_MAX_THREADS_PER_QUERY = 0;
+      region.close();
+    }
+  }
+
   /**
    * Populates the region with the Objects stores in the data Object array.
    * 
@@ -148,4 +249,16 @@ public class PRQueryNumThreadsJUnitTest {
       region.put(new Integer(j), data[j]);
     }
   }
+
+  /**
+   * Records the threads that iterate over the buckets of a query.
+   */
+  private static class ThreadTrackingObserver extends QueryObserverAdapter {
+    final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+
+    @Override
+    public void beforeIterationEvaluation(CompiledValue executer, Object currentObject) {
+      this.threads.add(Thread.currentThread());
+    }
+  }
 }
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+/**
+ * Tests which executor received messages are scheduled on.
+ */
+@Category(UnitTest.class)
+public class DistributionManagerJUnitTest {
+
+  @Test
+  public void testNoExpeditedMessageTypesByDefault() {
+    assertTrue(new ExpeditedMessageTypes("").isEmpty());
+    assertTrue(new ExpeditedMessageTypes(" , ").isEmpty());
+    assertEquals(DistributionManager.STANDARD_EXECUTOR,
+        new ExpeditedMessageTypes("").getProcessorType(new TestPooledMessage()));
+  }
+
+  @Test
+  public void testUnlistedMessageKeepsItsProcessorType() {
+    ExpeditedMessageTypes types = new ExpeditedMessageTypes("SomeOtherMessage");
+    assertFalse(types.isEmpty());
+    assertEquals(DistributionManager.STANDARD_EXECUTOR,
+        types.getProcessorType(new TestPooledMessage()));
+  }
+
+  @Test
+  public void testListedMessageIsScheduledOnExpeditedExecutor() {
+    ExpeditedMessageTypes types =
+        new ExpeditedMessageTypes(" SomeOtherMessage, TestPooledMessage ");
+    TestPooledMessage msg = new TestPooledMessage();
+    assertEquals(DistributionManager.EXPEDITED_EXECUTOR, types.getProcessorType(msg));
+
+    // getProcessorType and getExecutor are final, so the mock runs the real lookups against the
+    // stubbed message types and pools
+    DistributionManager dm = mock(DistributionManager.class);
+    ExecutorService standardPool = mock(ExecutorService.class);
+    ExecutorService highPriorityPool = mock(ExecutorService.class);
+    ExecutorService expeditedPool = mock(ExecutorService.class);
+    when(dm.getExpeditedMessageTypes()).thenReturn(types);
+    when(dm.getThreadPool()).thenReturn(standardPool);
+    when(dm.getHighPriorityThreadPool()).thenReturn(highPriorityPool);
+    when(dm.getExpeditedThreadPool()).thenReturn(expeditedPool);
+    assertSame(expeditedPool, msg.getExecutor(dm));
+  }
+
+  @Test
+  public void testListedMessageMatchesFullyQualifiedName() {
+    ExpeditedMessageTypes types = new ExpeditedMessageTypes(TestPooledMessage.class.getName());
+    assertEquals(DistributionManager.EXPEDITED_EXECUTOR,
+        types.getProcessorType(new TestPooledMessage()));
+  }
+
+  @Test
+  public void testListedSerialMessageIsNotMoved() {
+    ExpeditedMessageTypes types = new ExpeditedMessageTypes("TestSerialMessage");
+    assertEquals(DistributionManager.SERIAL_EXECUTOR,
+        types.getProcessorType(new TestSerialMessage()));
+  }
+
+  private static class TestPooledMessage extends PooledDistributionMessage {
+    @Override
+    protected void process(DistributionManager dm) {}
+
+    @Override
+    public int getDSFID() {
+      return NO_FIXED_ID;
+    }
+  }
+
+  private static class TestSerialMessage extends SerialDistributionMessage {
+    @Override
+    protected void process(DistributionManager dm) {}
+
+    @Override
+    public int getDSFID() {
+      return NO_FIXED_ID;
+    }
+  }
+}
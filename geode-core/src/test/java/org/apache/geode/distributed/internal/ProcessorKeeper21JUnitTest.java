@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class ProcessorKeeper21JUnitTest {
+
+  private static final int CONCURRENCY_LEVEL = 8;
+
+  @Test
+  public void testStrongRefs() {
+    verifyPutRetrieveRemove(new ProcessorKeeper21(false, CONCURRENCY_LEVEL));
+  }
+
+  @Test
+  public void testWeakRefs() {
+    verifyPutRetrieveRemove(new ProcessorKeeper21(true, CONCURRENCY_LEVEL));
+  }
+
+  @Test
+  public void testConcurrentPutsGetUniqueIds() throws Exception {
+    final ProcessorKeeper21 keeper = new ProcessorKeeper21(false, CONCURRENCY_LEVEL);
+    final ConcurrentMap<Integer, Object> registered = new ConcurrentHashMap<Integer, Object>();
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int t = 0; t < CONCURRENCY_LEVEL; t++) {
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 1000; i++) {
+          Object processor = new Object();
+          int id = keeper.put(processor);
+          assertNull("id " + id + " given out twice", registered.put(id, processor));
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join(60000);
+      assertFalse(thread.isAlive());
+    }
+
+    assertEquals(CONCURRENCY_LEVEL * 1000, registered.size());
+    for (Map.Entry<Integer, Object> entry : registered.entrySet()) {
+      assertSame(entry.getValue(), keeper.retrieve(entry.getKey()));
+    }
+  }
+
+  private void verifyPutRetrieveRemove(ProcessorKeeper21 keeper) {
+    List<Object> processors = new ArrayList<Object>();
+    int[] ids = new int[100];
+    for (int i = 0; i < ids.length; i++) {
+      Object processor = "processor" + i;
+      processors.add(processor);
+      ids[i] = keeper.put(processor);
+      assertTrue(ids[i] > 0);
+    }
+
+    for (int i = 0; i < ids.length; i++) {
+      assertSame(processors.get(i), keeper.retrieve(ids[i]));
+    }
+
+    for (int i = 0; i < ids.length; i += 2) {
+      keeper.remove(ids[i]);
+    }
+    for (int i = 0; i < ids.length; i++) {
+      if (i % 2 == 0) {
+        assertNull(keeper.retrieve(ids[i]));
+      } else {
+        assertSame(processors.get(i), keeper.retrieve(ids[i]));
+      }
+    }
+
+    // removing an unknown id is fine
+    keeper.remove(Integer.MAX_VALUE);
+  }
+}
@@ -215,6 +215,36 @@ public class GMSHealthMonitorJUnitTest {
     Assert.assertEquals(mockMembers.get(myAddressIndex + 1), gmsHealthMonitor.getNextNeighbor());
   }
 
+  /**
+   * a member whose irregular heartbeats keep its suspicion level low must still be checked once
+   * member-timeout has passed
+   */
+  @Test
+  public void testMemberTimeoutBoundsPhiAccrualCheck() {
+    HeartbeatHistory history = new HeartbeatHistory(100, 10);
+    long time = 1000;
+    history.heartbeatReceived(time);
+    for (int i = 0; i < 20; i++) {
+      time += (i % 2 == 0) ? 100 : 1900;
+      history.heartbeatReceived(time);
+    }
+    double phiThreshold = 8;
+    double phi = history.phi(memberTimeout);
+    assertTrue(phi < phiThreshold);
+
+    long beforeTimeout = memberTimeout / 4;
+    assertFalse(
+        GMSHealthMonitor.isCheckNeeded(beforeTimeout, memberTimeout, history, phi, phiThreshold));
+    assertTrue(
+        GMSHealthMonitor.isCheckNeeded(memberTimeout, memberTimeout, history, phi, phiThreshold));
+    // a suspicion level over the threshold triggers a check before member-timeout
+    assertTrue(GMSHealthMonitor.isCheckNeeded(beforeTimeout, memberTimeout, history, phiThreshold,
+        phiThreshold));
+    // without enough history only member-timeout applies
+    assertFalse(GMSHealthMonitor.isCheckNeeded(beforeTimeout, memberTimeout,
+        new HeartbeatHistory(100, 10), phiThreshold, phiThreshold));
+  }
+
   /***
    * checks whether member-check thread sends suspectMembers message
    */
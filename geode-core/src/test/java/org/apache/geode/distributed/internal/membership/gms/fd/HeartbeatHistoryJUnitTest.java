@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal.membership.gms.fd;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class HeartbeatHistoryJUnitTest {
+
+  @Test
+  public void noSuspicionWithoutHistory() {
+    HeartbeatHistory history = new HeartbeatHistory(10, 100);
+    assertEquals(0, history.phi(100000), 0);
+    history.heartbeatReceived(1000);
+    assertEquals(0, history.size());
+    assertEquals(0, history.phi(100000), 0);
+  }
+
+  @Test
+  public void windowKeepsMostRecentIntervals() {
+    HeartbeatHistory history = new HeartbeatHistory(3, 1);
+    long time = 1000;
+    history.heartbeatReceived(time);
+    for (int i = 0; i < 3; i++) {
+      time += 100;
+      history.heartbeatReceived(time);
+    }
+    assertEquals(3, history.size());
+    assertEquals(100, history.getMean(), 0.001);
+    for (int i = 0; i < 3; i++) {
+      time += 400;
+      history.heartbeatReceived(time);
+    }
+    assertEquals(3, history.size());
+    assertEquals(400, history.getMean(), 0.001);
+    assertEquals(time, history.getLastHeartbeat());
+  }
+
+  @Test
+  public void outOfOrderHeartbeatIsIgnored() {
+    HeartbeatHistory history = new HeartbeatHistory(10, 1);
+    history.heartbeatReceived(1000);
+    history.heartbeatReceived(2000);
+    history.heartbeatReceived(1500);
+    assertEquals(1, history.size());
+    assertEquals(2000, history.getLastHeartbeat());
+  }
+
+  @Test
+  public void suspicionGrowsWithSilence() {
+    HeartbeatHistory history = new HeartbeatHistory(100, 50);
+    long time = 1000;
+    history.heartbeatReceived(time);
+    for (int i = 0; i < 20; i++) {
+      time += 1000;
+      history.heartbeatReceived(time);
+    }
+    double early = history.phi(500);
+    double onTime = history.phi(1000);
+    double late = history.phi(1500);
+    assertTrue(early < onTime);
+    assertTrue(onTime < late);
+    assertEquals(-Math.log10(0.5), onTime, 0.01);
+    assertTrue(late > 8);
+  }
+
+  @Test
+  public void irregularHeartbeatsAreSuspectedLater() {
+    HeartbeatHistory regular = new HeartbeatHistory(100, 10);
+    HeartbeatHistory jittery = new HeartbeatHistory(100, 10);
+    long regularTime = 1000;
+    long jitteryTime = 1000;
+    regular.heartbeatReceived(regularTime);
+    jittery.heartbeatReceived(jitteryTime);
+    for (int i = 0; i < 20; i++) {
+      regularTime += 1000;
+      regular.heartbeatReceived(regularTime);
+      jitteryTime += (i % 2 == 0) ? 500 : 1500;
+      jittery.heartbeatReceived(jitteryTime);
+    }
+    assertEquals(regular.getMean(), jittery.getMean(), 0.001);
+    assertTrue(jittery.phi(1500) < regular.phi(1500));
+  }
+}
@@ -16,6 +16,7 @@ package org.apache.geode.distributed.internal.membership.gms.membership;
 
 import org.apache.geode.distributed.DistributedMember;
 import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.distributed.internal.DistributionMessage;
 import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
 import org.apache.geode.distributed.internal.membership.NetView;
 import org.apache.geode.distributed.internal.membership.gms.GMSMember;
@@ -42,6 +43,7 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
 import org.mockito.internal.verification.Times;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -540,6 +542,99 @@ public class GMSJoinLeaveJUnitTest {
     }
   }
 
+  /**
+   * join requests that keep arriving within the collection interval are put in a single view
+   */
+  @Test
+  public void testJoinsArrivingWithinCollectionIntervalShareOneView() throws Exception {
+    InternalDistributedMember[] joiners = createJoiners(4);
+    List<NetView> views = collectJoinViews(joiners, 300, 2000);
+    assertEquals("expected one view adding " + Arrays.toString(joiners) + ": " + views, 1,
+        views.size());
+    for (InternalDistributedMember joiner : joiners) {
+      assertTrue(views.get(0).contains(joiner));
+    }
+  }
+
+  /**
+   * join requests that keep arriving are not collected for longer than the max collection interval
+   */
+  @Test
+  public void testJoinCollectionIsCappedByMaxCollectionInterval() throws Exception {
+    InternalDistributedMember[] joiners = createJoiners(8);
+    List<NetView> views = collectJoinViews(joiners, 300, 600);
+    assertTrue("expected more than one view adding " + Arrays.toString(joiners) + ": " + views,
+        views.size() > 1);
+    assertTrue(views.get(0).contains(joiners[0]));
+    assertFalse(views.get(0).contains(joiners[joiners.length - 1]));
+  }
+
+  private InternalDistributedMember[] createJoiners(int count) {
+    InternalDistributedMember[] joiners = new InternalDistributedMember[count];
+    for (int i = 0; i < count; i++) {
+      joiners[i] = new InternalDistributedMember("localhost", 9000 + i);
+    }
+    return joiners;
+  }
+
+  /**
+   * Becomes coordinator, sends a join request for each of the joiners 150ms apart and returns the
+   * distinct views the coordinator sent out that add any of them, in the order they were sent
+   */
+  private List<NetView> collectJoinViews(InternalDistributedMember[] joiners,
+      long collectionInterval, long maxCollectionInterval) throws Exception {
+    initMocks();
+    when(healthMonitor.checkIfAvailable(any(InternalDistributedMember.class), any(String.class),
+        any(Boolean.class))).thenReturn(true);
+    gmsJoinLeave.unitTesting.add("noRandomViewChange");
+    gmsJoinLeave.requestCollectionInterval = collectionInterval;
+    gmsJoinLeave.maxRequestCollectionInterval = maxCollectionInterval;
+    prepareAndInstallView(gmsJoinLeaveMemberId,
+        createMemberList(gmsJoinLeaveMemberId, mockMembers[0]));
+    GMSJoinLeaveTestHelper.becomeCoordinatorForTest(gmsJoinLeave);
+    long giveup = System.currentTimeMillis() + 20000;
+    while (System.currentTimeMillis() < giveup && (gmsJoinLeave.getViewCreator() == null
+        || !gmsJoinLeave.getViewCreator().isWaiting())) {
+      Thread.sleep(100);
+    }
+    assertTrue(gmsJoinLeave.getViewCreator().isWaiting());
+
+    for (InternalDistributedMember joiner : joiners) {
+      JoinRequestMessage msg = new JoinRequestMessage(gmsJoinLeaveMemberId, joiner, null, -1, 0);
+      msg.setSender(joiner);
+      gmsJoinLeave.processMessage(msg);
+      Thread.sleep(150);
+    }
+    InternalDistributedMember lastJoiner = joiners[joiners.length - 1];
+    giveup = System.currentTimeMillis() + 20000;
+    while (System.currentTimeMillis() < giveup && !gmsJoinLeave.getView().contains(lastJoiner)) {
+      Thread.sleep(100);
+    }
+    assertTrue(gmsJoinLeave.getView().contains(lastJoiner));
+
+    ArgumentCaptor<DistributionMessage> captor = ArgumentCaptor.forClass(DistributionMessage.class);
+    verify(messenger, atLeastOnce()).send(captor.capture());
+    List<NetView> views = new ArrayList<NetView>();
+    Set<Integer> viewIds = new HashSet<Integer>();
+    for (DistributionMessage msg : captor.getAllValues()) {
+      if (!(msg instanceof InstallViewMessage)) {
+        continue;
+      }
+      // a view is sent once to prepare it and again to install it
+      NetView view = ((InstallViewMessage) msg).getView();
+      if (!viewIds.add(view.getViewId())) {
+        continue;
+      }
+      for (InternalDistributedMember joiner : joiners) {
+        if (view.contains(joiner)) {
+          views.add(view);
+          break;
+        }
+      }
+    }
+    return views;
+  }
+
   @Test
   public void testRemoveCausesForcedDisconnect() throws Exception {
     String reason = "testing";
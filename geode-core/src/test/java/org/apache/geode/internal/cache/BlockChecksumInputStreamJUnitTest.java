@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.util.zip.CRC32;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+/**
+ * Tests BlockChecksumInputStream
+ */
+@Category(UnitTest.class)
+public class BlockChecksumInputStreamJUnitTest {
+
+  private static byte[] bytes(int len) {
+    byte[] result = new byte[len];
+    for (int i = 0; i < len; i++) {
+      result[i] = (byte) (i * 31);
+    }
+    return result;
+  }
+
+  private static long crc(byte[] b, int off, int len) {
+    CRC32 crc = new CRC32();
+    crc.update(b, off, len);
+    return crc.getValue();
+  }
+
+  @Test
+  public void doesNotChecksumBeforeBlocksStart() throws Exception {
+    byte[] data = bytes(100);
+    BlockChecksumInputStream cis = new BlockChecksumInputStream(new ByteArrayInputStream(data));
+    DataInputStream dis = new DataInputStream(cis);
+    dis.readFully(new byte[10]);
+    assertFalse(cis.isBlockFormat());
+    assertEquals(0, cis.getBlockLength());
+    assertEquals(0, cis.getBlockChecksum());
+  }
+
+  @Test
+  public void checksumsReadAndSkippedBytes() throws Exception {
+    byte[] data = bytes(20000);
+    BlockChecksumInputStream cis = new BlockChecksumInputStream(new ByteArrayInputStream(data));
+    DataInputStream dis = new DataInputStream(cis);
+    dis.readFully(new byte[5]);
+    cis.startBlocks();
+    dis.readByte();
+    dis.readInt();
+    assertEquals(15000, dis.skipBytes(15000));
+    dis.readFully(new byte[1000]);
+    assertTrue(cis.isBlockFormat());
+    assertEquals(16005, cis.getBlockLength());
+    assertEquals(crc(data, 5, 16005), cis.getBlockChecksum());
+
+    cis.resetBlock();
+    dis.readFully(new byte[100]);
+    assertEquals(100, cis.getBlockLength());
+    assertEquals(crc(data, 16010, 100), cis.getBlockChecksum());
+  }
+
+  @Test
+  public void skipPastEndReturnsBytesSkipped() throws Exception {
+    byte[] data = bytes(50);
+    BlockChecksumInputStream cis = new BlockChecksumInputStream(new ByteArrayInputStream(data));
+    cis.startBlocks();
+    assertEquals(50, cis.skip(100));
+    assertEquals(50, cis.getBlockLength());
+    assertEquals(crc(data, 0, 50), cis.getBlockChecksum());
+  }
+}
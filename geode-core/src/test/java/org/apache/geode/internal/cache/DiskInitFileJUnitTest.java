@@ -35,6 +35,10 @@ import org.apache.geode.test.junit.categories.IntegrationTest;
 @Category(IntegrationTest.class)
 public class DiskInitFileJUnitTest {
 
+  private static final long REGION_ID = 10;
+
+  private static final String REGION_NAME = "/testRegion";
+
   private File testDirectory;
   private Mockery context = new Mockery() {
     {
@@ -117,4 +121,90 @@ public class DiskInitFileJUnitTest {
     dif.close();
   }
 
+  /**
+   * Test that entries counted from krfs are added to the region's entry count hint, that the hint
+   * sizes the region map and that a huge hint is capped.
+   */
+  @Test
+  public void testEntryCountHint() {
+    final DiskStoreImpl parent = mockDiskStore();
+    DiskInitFile dif = new DiskInitFile("testFile", parent, false, Collections.<File>emptySet());
+    dif.createRegion(mockRegion());
+    dif.close();
+
+    dif = new DiskInitFile("testFile", parent, true, Collections.<File>emptySet());
+    DiskRegionView drv = dif.getDiskRegionByName(REGION_NAME);
+    assertEquals(0, drv.getEntryCountHint());
+    assertEquals(16, ((AbstractDiskRegion) drv).getRecoveryInitialCapacity(16, 0.75f));
+
+    dif.addKrfEntriesToEntryCountHint(REGION_ID, 600);
+    dif.addKrfEntriesToEntryCountHint(REGION_ID, 400);
+    assertEquals(1000, drv.getEntryCountHint());
+    assertEquals(1334, ((AbstractDiskRegion) drv).getRecoveryInitialCapacity(16, 0.75f));
+
+    dif.addKrfEntriesToEntryCountHint(REGION_ID, 1L << 40);
+    assertEquals(1 << 26, ((AbstractDiskRegion) drv).getRecoveryInitialCapacity(16, 0.75f));
+
+    // unknown regions are ignored
+    dif.addKrfEntriesToEntryCountHint(REGION_ID + 1, 1000);
+    dif.close();
+  }
+
+  /**
+   * Test that the entry count hint is not written to the init file, so that the file stays
+   * readable by older releases.
+   */
+  @Test
+  public void testEntryCountHintIsNotPersisted() {
+    final DiskStoreImpl parent = mockDiskStore();
+    DiskInitFile dif = new DiskInitFile("testFile", parent, false, Collections.<File>emptySet());
+    dif.createRegion(mockRegion());
+    dif.close();
+
+    dif = new DiskInitFile("testFile", parent, true, Collections.<File>emptySet());
+    DiskRegionView drv = dif.getDiskRegionByName(REGION_NAME);
+    drv.setEntryCountHint(1000);
+    dif.closeRegion(drv);
+    assertEquals(1000, dif.getDiskRegionByName(REGION_NAME).getEntryCountHint());
+    dif.close();
+
+    dif = new DiskInitFile("testFile", parent, true, Collections.<File>emptySet());
+    drv = dif.getDiskRegionByName(REGION_NAME);
+    assertNotNull(drv);
+    assertEquals(0, drv.getEntryCountHint());
+    assertEquals(16, ((AbstractDiskRegion) drv).getRecoveryInitialCapacity(16, 0.75f));
+    dif.close();
+  }
+
+  private DiskStoreImpl mockDiskStore() {
+    final StatisticsFactory sf = context.mock(StatisticsFactory.class);
+    context.checking(new Expectations() {
+      {
+        ignoring(sf);
+      }
+    });
+    final DiskStoreImpl parent = context.mock(DiskStoreImpl.class);
+    context.checking(new Expectations() {
+      {
+        allowing(parent).getInfoFileDir();
+        will(returnValue(new DirectoryHolder(sf, testDirectory, 0, 0)));
+        ignoring(parent);
+      }
+    });
+    return parent;
+  }
+
+  private DiskRegionView mockRegion() {
+    final DiskRegionView drv = context.mock(DiskRegionView.class);
+    context.checking(new Expectations() {
+      {
+        allowing(drv).getId();
+        will(returnValue(REGION_ID));
+        allowing(drv).getName();
+        will(returnValue(REGION_NAME));
+        ignoring(drv);
+      }
+    });
+    return drv;
+  }
 }
@@ -1356,6 +1356,33 @@ public class DiskRegRecoveryJUnitTest extends DiskRegionTestingBase {
     }
   }
 
+  /**
+   * Tests that the entries in the krfs are counted when the disk store is opened, so that the
+   * region map can be sized before the region is recovered, and that the count survives closing
+   * and reopening the region.
+   */
+  @Test
+  public void testEntryCountHintRecoveredFromKrf() {
+    diskProps.setDiskDirs(dirs);
+    diskProps.setPersistBackup(true);
+    diskProps.setRegionName("testEntryCountHintRecoveredFromKrf");
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+    for (int i = 0; i < 1000; i++) {
+      region.put(i, i);
+    }
+    cache.close();
+
+    cache = createCache();
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+    assertEquals(1000, region.size());
+    assertEquals(1000, ((LocalRegion) region).getDiskRegion().getEntryCountHint());
+
+    region.put(1000, 1000);
+    region.close();
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+    assertEquals(1001, ((LocalRegion) region).getDiskRegion().getEntryCountHint());
+  }
+
   private void waitForInVMToBe(final DiskRegion dr, final int expected) {
     // values are recovered async from disk
     Awaitility.await().pollInterval(10, TimeUnit.MILLISECONDS).pollDelay(10, TimeUnit.MILLISECONDS)
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class DistributedCacheOperationJUnitTest {
+
+  @Test
+  public void testMulticastUsedByDefault() {
+    assertEquals(0, DistributedCacheOperation.MIN_MULTICAST_RECIPIENTS);
+    assertTrue(DistributedCacheOperation.hasEnoughPeersForMulticast(0, 0));
+    assertTrue(DistributedCacheOperation.hasEnoughPeersForMulticast(1, 0));
+    assertTrue(DistributedCacheOperation.hasEnoughPeersForMulticast(100, 0));
+  }
+
+  @Test
+  public void testUnicastBelowMinMulticastRecipients() {
+    assertFalse(DistributedCacheOperation.hasEnoughPeersForMulticast(0, 4));
+    assertFalse(DistributedCacheOperation.hasEnoughPeersForMulticast(3, 4));
+  }
+
+  @Test
+  public void testMulticastAtOrAboveMinMulticastRecipients() {
+    assertTrue(DistributedCacheOperation.hasEnoughPeersForMulticast(4, 4));
+    assertTrue(DistributedCacheOperation.hasEnoughPeersForMulticast(5, 4));
+  }
+}
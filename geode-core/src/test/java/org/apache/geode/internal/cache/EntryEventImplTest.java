@@ -17,18 +17,24 @@ package org.apache.geode.internal.cache;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.jayway.awaitility.Awaitility;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import org.apache.geode.DataSerializable;
 import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.SerializedCacheValue;
 import org.apache.geode.internal.cache.EntryEventImpl.NewValueImporter;
 import org.apache.geode.internal.cache.EntryEventImpl.OldValueImporter;
+import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
 import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.test.junit.categories.UnitTest;
 
@@ -106,6 +112,61 @@ public class EntryEventImplTest {
     verify(nvImporter).importNewObject(newValue, true);
   }
 
+  @Test
+  public void verifyExportNewValueSerializesObjectOnceForImportersThatNeedBytes() {
+    LocalRegion region = mock(LocalRegion.class);
+    CountingValue newValue = new CountingValue();
+    NewValueImporter importer1 = mock(NewValueImporter.class);
+    when(importer1.prefersNewSerialized()).thenReturn(true);
+    NewValueImporter importer2 = mock(NewValueImporter.class);
+    when(importer2.prefersNewSerialized()).thenReturn(true);
+    EntryEventImpl e = createEntryEvent(region, newValue);
+
+    e.exportNewValue(importer1);
+    e.exportNewValue(importer2);
+
+    assertEquals(1, newValue.toDataCalls.get());
+    byte[] cached = e.getCachedSerializedNewValue();
+    assertNotNull(cached);
+    verify(importer1).importNewBytes(same(cached), eq(true));
+    verify(importer2).importNewBytes(same(cached), eq(true));
+  }
+
+  @Test
+  public void verifyGatewaySenderEventReusesBytesCachedByExportNewValue() throws Exception {
+    LocalRegion region = mock(LocalRegion.class);
+    when(region.getFullPath()).thenReturn("/region");
+    CountingValue newValue = new CountingValue();
+    NewValueImporter importer = mock(NewValueImporter.class);
+    when(importer.prefersNewSerialized()).thenReturn(true);
+    EntryEventImpl e = createEntryEvent(region, newValue);
+
+    e.exportNewValue(importer);
+    GatewaySenderEventImpl gatewayEvent =
+        new GatewaySenderEventImpl(EnumListenerEvent.AFTER_CREATE, e, null);
+
+    assertEquals(1, newValue.toDataCalls.get());
+    assertSame(e.getCachedSerializedNewValue(), gatewayEvent.getSerializedValue());
+  }
+
+  @Test
+  public void verifyExportNewValueReusesBytesCachedByGatewaySenderEvent() throws Exception {
+    LocalRegion region = mock(LocalRegion.class);
+    when(region.getFullPath()).thenReturn("/region");
+    CountingValue newValue = new CountingValue();
+    NewValueImporter importer = mock(NewValueImporter.class);
+    when(importer.prefersNewSerialized()).thenReturn(true);
+    EntryEventImpl e = createEntryEvent(region, newValue);
+
+    GatewaySenderEventImpl gatewayEvent =
+        new GatewaySenderEventImpl(EnumListenerEvent.AFTER_CREATE, e, null);
+    e.exportNewValue(importer);
+
+    assertEquals(1, newValue.toDataCalls.get());
+    assertSame(gatewayEvent.getSerializedValue(), e.getCachedSerializedNewValue());
+    verify(importer).importNewBytes(same(gatewayEvent.getSerializedValue()), eq(true));
+  }
+
   @Test
   public void verifyExportNewValueWithByteArrayCachedDeserializable() {
     LocalRegion region = mock(LocalRegion.class);
@@ -721,6 +782,26 @@ public class EntryEventImplTest {
     }
   }
 
+  /**
+   * A value that counts how many times it is serialized
+   */
+  public static class CountingValue implements DataSerializable {
+    private final transient AtomicInteger toDataCalls = new AtomicInteger();
+
+    public CountingValue() {}
+
+    @Override
+    public void toData(DataOutput out) throws IOException {
+      this.toDataCalls.incrementAndGet();
+      out.writeInt(1);
+    }
+
+    @Override
+    public void fromData(DataInput in) throws IOException {
+      in.readInt();
+    }
+  }
+
   private static EventID createEventID() {
     byte[] memId = {1, 2, 3};
     return new EventID(memId, 11, 12, 13);
@@ -99,6 +99,46 @@ public class GIIFlowControlDUnitTest extends JUnit4CacheTestCase {
 
   }
 
+  @Test
+  public void testInitialImageBytesReceived() throws Throwable {
+    Host host = Host.getHost(0);
+    VM vm0 = host.getVM(0);
+    VM vm1 = host.getVM(1);
+    Invoke.invokeInEveryVM(new SerializableRunnable("set chunk size") {
+      public void run() {
+        InitialImageOperation.CHUNK_SIZE_IN_BYTES = 100;
+      }
+    });
+
+    createRegion(vm0);
+
+    createData(vm0, 0, 50, "1234567890");
+
+    vm1.invoke(new SerializableRunnable("Check no image bytes before the GII") {
+      public void run() {
+        assertEquals(0,
+            ((GemFireCacheImpl) getCache()).getCachePerfStats().getGetInitialImageBytesReceived());
+      }
+    });
+
+    createRegion(vm1);
+
+    vm1.invoke(new SerializableRunnable("Check image bytes received") {
+      public void run() {
+        LocalRegion region = (LocalRegion) getCache().getRegion(REGION_NAME);
+        assertEquals(50, region.size());
+        // every chunk carries at least the 50 ten byte values
+        long regionBytes = region.getRegionPerfStats().getGetInitialImageBytesReceived();
+        assertTrue("received " + regionBytes + " bytes", regionBytes >= 500);
+        long cacheBytes =
+            ((GemFireCacheImpl) getCache()).getCachePerfStats().getGetInitialImageBytesReceived();
+        assertEquals(regionBytes, cacheBytes);
+      }
+    });
+
+    closeCache(vm0);
+  }
+
   @Test
   public void testFlowControlHappening() throws Throwable {
     Host host = Host.getHost(0);
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.DiskAccessException;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests recovery of oplogs written in the checksummed block format.
+ */
+@Category(IntegrationTest.class)
+public class OplogBlockChecksumJUnitTest {
+
+  private static final int NUM_ENTRIES = 1000;
+
+  private static final byte VALUE_BYTE = 0x5A;
+
+  private static final int BLOCK_SIZE = 1024;
+
+  private static final String CHECKSUM_BLOCK_SIZE_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "disk.checksumBlockSize";
+
+  private Cache cache;
+
+  private File diskDir;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    // read once when DiskStoreImpl is loaded, which integration tests do in a JVM of their own
+    System.setProperty(CHECKSUM_BLOCK_SIZE_PROPERTY, String.valueOf(BLOCK_SIZE));
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws Exception {
+    System.clearProperty(CHECKSUM_BLOCK_SIZE_PROPERTY);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    assertEquals(BLOCK_SIZE, DiskStoreImpl.OPLOG_CHECKSUM_BLOCK_SIZE);
+    this.diskDir = temporaryFolder.newFolder("_" + getClass().getSimpleName());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (this.cache != null && !this.cache.isClosed()) {
+      this.cache.close();
+    }
+  }
+
+  @Test
+  public void testRecoverChecksummedBlocks() throws Exception {
+    Region region = createRegion();
+    populate(region);
+    this.cache.close();
+    deleteKrfs();
+
+    region = createRegion();
+    assertEquals(NUM_ENTRIES, region.size());
+    for (int i = 0; i < NUM_ENTRIES; i++) {
+      assertArrayEquals(value(i), (byte[]) region.get(i));
+    }
+  }
+
+  @Test
+  public void testCorruptBlockIsDetected() throws Exception {
+    Region region = createRegion();
+    populate(region);
+    this.cache.close();
+    deleteKrfs();
+
+    // flip a byte of a value so that the crf still parses but the block checksum does not match
+    File crf = getOplogFiles(Oplog.CRF_FILE_EXT)[0];
+    byte[] bytes = Files.readAllBytes(crf.toPath());
+    byte[] valueBytes = value(NUM_ENTRIES / 2);
+    int pos = indexOf(bytes, valueBytes);
+    assertTrue(pos > 0);
+    try (RandomAccessFile raf = new RandomAccessFile(crf, "rw")) {
+      raf.seek(pos + valueBytes.length / 2);
+      raf.write(VALUE_BYTE + 1);
+    }
+
+    try {
+      createRegion();
+      fail("expected DiskAccessException");
+    } catch (DiskAccessException expected) {
+      assertTrue(expected.getMessage(), expected.getMessage().contains("is corrupt"));
+    }
+  }
+
+  private Region createRegion() {
+    this.cache = new CacheFactory().set(MCAST_PORT, "0").set(LOCATORS, "").create();
+    this.cache.createDiskStoreFactory().setDiskDirs(new File[] {this.diskDir})
+        .setAutoCompact(false).create("store");
+    return this.cache.createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+        .setDiskStoreName("store").create("region");
+  }
+
+  private void populate(Region region) {
+    for (int i = 0; i < NUM_ENTRIES; i++) {
+      region.put(i, value(i));
+    }
+  }
+
+  private static byte[] value(int i) {
+    byte[] value = new byte[100];
+    Arrays.fill(value, VALUE_BYTE);
+    value[0] = (byte) i;
+    value[1] = (byte) (i >> 8);
+    return value;
+  }
+
+  /**
+   * Deletes the krf files so that recovery has to read the crf files.
+   */
+  private void deleteKrfs() {
+    for (File krf : getOplogFiles(Oplog.KRF_FILE_EXT)) {
+      assertTrue(krf.delete());
+    }
+  }
+
+  private File[] getOplogFiles(final String extension) {
+    return this.diskDir.listFiles((dir, name) -> name.endsWith(extension));
+  }
+
+  private static int indexOf(byte[] bytes, byte[] target) {
+    outer: for (int i = 0; i <= bytes.length - target.length; i++) {
+      for (int j = 0; j < target.length; j++) {
+        if (bytes[i + j] != target[j]) {
+          continue outer;
+        }
+      }
+      return i;
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests overflow writes spread over several write stripes.
+ */
+@Category(IntegrationTest.class)
+public class OverflowOplogSetJUnitTest {
+
+  private static final int NUM_STRIPES = 4;
+
+  private static final int NUM_WRITERS = 8;
+
+  private static final int ENTRIES_PER_WRITER = 250;
+
+  private static final String WRITE_STRIPES_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "disk.overflowWriteStripes";
+
+  private Cache cache;
+
+  private File[] diskDirs;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    // read once when DiskStoreImpl is loaded, which integration tests do in a JVM of their own
+    System.setProperty(WRITE_STRIPES_PROPERTY, String.valueOf(NUM_STRIPES));
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws Exception {
+    System.clearProperty(WRITE_STRIPES_PROPERTY);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    assertEquals(NUM_STRIPES, DiskStoreImpl.OVERFLOW_WRITE_STRIPES);
+    this.diskDirs = new File[NUM_STRIPES];
+    for (int i = 0; i < NUM_STRIPES; i++) {
+      this.diskDirs[i] = temporaryFolder.newFolder("dir" + i);
+    }
+    this.cache = new CacheFactory().set(MCAST_PORT, "0").set(LOCATORS, "").create();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (this.cache != null && !this.cache.isClosed()) {
+      this.cache.close();
+    }
+  }
+
+  @Test
+  public void testConcurrentWritersUseTheirOwnStripes() throws Exception {
+    DiskStoreImpl diskStore = (DiskStoreImpl) this.cache.createDiskStoreFactory()
+        .setDiskDirs(this.diskDirs).create("store");
+    final LocalRegion region = (LocalRegion) this.cache.createRegionFactory(RegionShortcut.LOCAL)
+        .setDiskStoreName("store").setDiskSynchronous(true)
+        .setEvictionAttributes(
+            EvictionAttributes.createLRUEntryAttributes(1, EvictionAction.OVERFLOW_TO_DISK))
+        .create("region");
+
+    final CyclicBarrier barrier = new CyclicBarrier(NUM_WRITERS);
+    final Throwable[] failures = new Throwable[NUM_WRITERS];
+    Thread[] writers = new Thread[NUM_WRITERS];
+    for (int w = 0; w < NUM_WRITERS; w++) {
+      final int writer = w;
+      writers[w] = new Thread(() -> {
+        try {
+          barrier.await();
+          for (int i = 0; i < ENTRIES_PER_WRITER; i++) {
+            int key = writer * ENTRIES_PER_WRITER + i;
+            region.put(key, "value-" + key);
+          }
+        } catch (Throwable t) {
+          failures[writer] = t;
+        }
+      }, "overflow writer " + w);
+      writers[w].start();
+    }
+    for (Thread writer : writers) {
+      writer.join(60000);
+      assertFalse(writer.isAlive());
+    }
+    for (Throwable failure : failures) {
+      if (failure != null) {
+        throw new AssertionError(failure);
+      }
+    }
+
+    OverflowOplogSet oplogSet = diskStore.overflowOplogs;
+    Set<File> usedDirs = new HashSet<File>();
+    for (int key = 0; key < NUM_WRITERS * ENTRIES_PER_WRITER; key++) {
+      DiskEntry entry = (DiskEntry) region.getRegionEntry(key);
+      long oplogId = entry.getDiskId().getOplogId();
+      if (oplogId <= 0) {
+        // never overflowed
+        continue;
+      }
+      File expectedDir = this.diskDirs[oplogSet.getStripe(entry) % NUM_STRIPES];
+      File actualDir = oplogSet.getChild(oplogId).getDirectoryHolder().getDir();
+      assertEquals("key " + key, expectedDir.getCanonicalFile(), actualDir.getCanonicalFile());
+      usedDirs.add(actualDir);
+      assertEquals("value-" + key, region.get(key));
+    }
+    assertEquals(NUM_STRIPES, usedDirs.size());
+  }
+}
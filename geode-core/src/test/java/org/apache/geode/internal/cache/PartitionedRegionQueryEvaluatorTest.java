@@ -202,6 +202,40 @@ public class PartitionedRegionQueryEvaluatorTest {
 
   }
 
+  @Test
+  public void testRemoteResultsAreNotKeptOnceLimitIsMet() throws Exception {
+    when(query.getLimit(any())).thenReturn(2);
+    List resultsForMember1 = createResultObjects("1");
+    List resultsForMember2 = createResultObjects("2", "3");
+    List resultsForMember3 = createResultObjects("4", "5");
+
+    PartitionedQueryScenario scenario = new PartitionedQueryScenario(localNode, allNodes,
+        noFailingMembers, createFakeBucketMap(), new ProcessDataFaker() {
+          public void processData(PartitionedRegionQueryEvaluator prqe) {
+            prqe.processData(resultsForMember2, remoteNodeA, 0, true);
+            prqe.processData(resultsForMember3, remoteNodeB, 0, true);
+          }
+
+          public void executeQueryLocally(Collection resultsCollector) {
+            resultsCollector.add(resultsForMember1);
+          }
+        });
+
+    Set allBucketsToQuery = scenario.getAllBucketsToQuery();
+    Queue<PartitionedQueryScenario> scenarios = createScenariosQueue(scenario);
+    dataStore.setScenarios(scenarios);
+
+    PartitionedRegionQueryEvaluator prqe = new ExtendedPartitionedRegionQueryEvaluator(system, pr,
+        query, null, new LinkedResultSet(), allBucketsToQuery, scenarios);
+    Collection results = prqe.queryBuckets(null).asList();
+    assertEquals(2, results.size());
+
+    Collection<Collection> keptForMember3 =
+        (Collection<Collection>) prqe.getResultsPerMember().get(remoteNodeB);
+    assertEquals(1, keptForMember3.size());
+    assertTrue(keptForMember3.iterator().next().isEmpty());
+  }
+
   private Map<InternalDistributedMember, List<Integer>> createFakeBucketMap() {
     Map<InternalDistributedMember, List<Integer>> bucketToNodeMap = new HashMap<>();
     bucketToNodeMap.put(localNode, createBucketList(1, 2, 3));
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.partitioned.rebalance;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.internal.cache.control.ResourceManagerStats;
+import org.apache.geode.internal.cache.partitioned.rebalance.BucketOperator.Completion;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class ParallelBucketOperatorJUnitTest {
+
+  private ExecutorService executor;
+  private InternalDistributedMember member1, member2;
+  private final Map<String, Long> colocatedRegionBytes = Collections.emptyMap();
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final AtomicInteger started = new AtomicInteger();
+  private final AtomicInteger completed = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+
+  @Before
+  public void setUp() throws Exception {
+    executor = Executors.newCachedThreadPool();
+    member1 = new InternalDistributedMember(InetAddress.getByName("127.0.0.1"), 1);
+    member2 = new InternalDistributedMember(InetAddress.getByName("127.0.0.2"), 1);
+  }
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  private BucketOperator blockingOperator() {
+    BucketOperator delegate = mock(BucketOperator.class,
+        invocation -> {
+          if (invocation.getMethod().getName().equals("createRedundantBucket")) {
+            started.incrementAndGet();
+            release.await();
+            ((Completion) invocation.getArguments()[3]).onSuccess();
+          }
+          return null;
+        });
+    return delegate;
+  }
+
+  private Completion countingCompletion() {
+    return new Completion() {
+      @Override
+      public void onSuccess() {
+        completed.incrementAndGet();
+      }
+
+      @Override
+      public void onFailure() {
+        failed.incrementAndGet();
+      }
+    };
+  }
+
+  private void waitForStarted(int count) throws InterruptedException {
+    long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (started.get() < count && System.nanoTime() < end) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, started.get());
+  }
+
+  @Test
+  public void perMemberLimitDoesNotBlockOtherMembers() throws Exception {
+    ParallelBucketOperator operator =
+        new ParallelBucketOperator(4, 1, executor, blockingOperator(), null);
+
+    // every call is made from this thread, as the rebalance director does
+    operator.createRedundantBucket(member1, 1, colocatedRegionBytes, countingCompletion());
+    waitForStarted(1);
+    operator.createRedundantBucket(member1, 3, colocatedRegionBytes, countingCompletion());
+    operator.createRedundantBucket(member2, 2, colocatedRegionBytes, countingCompletion());
+    waitForStarted(2);
+    Thread.sleep(200);
+    assertEquals("second create for member1 should wait for the first", 2, started.get());
+
+    release.countDown();
+    operator.waitForOperations();
+    assertEquals(3, started.get());
+    assertEquals(3, completed.get());
+  }
+
+  @Test
+  public void deferredCreatesFailWhenExecutorIsShutDown() throws Exception {
+    ResourceManagerStats stats = mock(ResourceManagerStats.class);
+    ParallelBucketOperator operator =
+        new ParallelBucketOperator(4, 1, executor, blockingOperator(), stats);
+
+    operator.createRedundantBucket(member1, 1, colocatedRegionBytes, countingCompletion());
+    waitForStarted(1);
+    operator.createRedundantBucket(member1, 2, colocatedRegionBytes, countingCompletion());
+    operator.createRedundantBucket(member1, 3, colocatedRegionBytes, countingCompletion());
+    verify(stats, times(2)).startBucketCreateWait();
+
+    executor.shutdown();
+    operator.waitForOperations();
+    assertEquals(1, started.get());
+    assertEquals(2, failed.get());
+    verify(stats, times(2)).endBucketCreateWait();
+  }
+
+  @Test
+  public void noPerMemberLimitByDefault() throws Exception {
+    ParallelBucketOperator operator = new ParallelBucketOperator(4, executor, blockingOperator());
+
+    operator.createRedundantBucket(member1, 1, colocatedRegionBytes, countingCompletion());
+    operator.createRedundantBucket(member1, 2, colocatedRegionBytes, countingCompletion());
+    operator.createRedundantBucket(member1, 3, colocatedRegionBytes, countingCompletion());
+    waitForStarted(3);
+
+    release.countDown();
+    operator.waitForOperations();
+    assertEquals(3, completed.get());
+  }
+}
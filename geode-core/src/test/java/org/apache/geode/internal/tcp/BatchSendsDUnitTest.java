@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+import static org.apache.geode.distributed.ConfigurationProperties.*;
+import static org.junit.Assert.*;
+
+import java.util.Properties;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.test.dunit.AsyncInvocation;
+import org.apache.geode.test.dunit.Host;
+import org.apache.geode.test.dunit.VM;
+import org.apache.geode.test.dunit.cache.internal.JUnit4CacheTestCase;
+import org.apache.geode.test.junit.categories.DistributedTest;
+
+/**
+ * Tests p2p.batchSends on thread-owned connections, where updates are acknowledged with direct
+ * acks read by the sending thread. The property is read when Connection is loaded, so the VMs are
+ * bounced before it is set and again once it is cleared.
+ */
+@Category(DistributedTest.class)
+public class BatchSendsDUnitTest extends JUnit4CacheTestCase {
+
+  private static final String BATCH_SENDS_PROPERTY = "p2p.batchSends";
+
+  @Override
+  public Properties getDistributedSystemProperties() {
+    Properties props = super.getDistributedSystemProperties();
+    props.setProperty(CONSERVE_SOCKETS, "false");
+    return props;
+  }
+
+  @Override
+  public final void postSetUp() throws Exception {
+    disconnectAllFromDS();
+    for (VM vm : getBatchingVMs()) {
+      vm.bounce();
+      vm.invoke(() -> {
+        System.setProperty(BATCH_SENDS_PROPERTY, "true");
+        assertTrue(Connection.BATCH_SENDS);
+      });
+    }
+  }
+
+  @Override
+  public final void postTearDownCacheTestCase() throws Exception {
+    disconnectAllFromDS();
+    for (VM vm : getBatchingVMs()) {
+      vm.invoke(() -> System.clearProperty(BATCH_SENDS_PROPERTY));
+      vm.bounce();
+    }
+  }
+
+  private static VM[] getBatchingVMs() {
+    Host host = Host.getHost(0);
+    return new VM[] {host.getVM(0), host.getVM(1)};
+  }
+
+  @Test
+  public void testBatchedDirectAckSendCompletes() throws Exception {
+    Host host = Host.getHost(0);
+    VM sender = host.getVM(0);
+    VM receiver = host.getVM(1);
+    final String regionName = getUniqueName();
+
+    receiver.invoke(() -> createRegion(regionName));
+    sender.invoke(() -> createRegion(regionName));
+
+    // the put waits for a direct ack, which the receiver only sends once the update has been
+    // written out of the sender's batch
+    AsyncInvocation put = sender.invokeAsync(() -> {
+      Region region = getCache().getRegion(regionName);
+      for (int i = 0; i < 10; i++) {
+        region.put(i, "value" + i);
+      }
+    });
+    put.join(60000);
+    assertFalse("batched puts did not complete", put.isAlive());
+    put.checkException();
+
+    receiver.invoke(() -> {
+      Region region = getCache().getRegion(regionName);
+      for (int i = 0; i < 10; i++) {
+        assertEquals("value" + i, region.get(i));
+      }
+    });
+  }
+
+  private void createRegion(String regionName) {
+    getCache().createRegionFactory(RegionShortcut.REPLICATE).create(regionName);
+  }
+}
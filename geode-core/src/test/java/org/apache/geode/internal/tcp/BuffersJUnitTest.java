@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.distributed.internal.DMStats;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class BuffersJUnitTest {
+
+  @Before
+  public void setUp() {
+    // the pool is static so start from an empty one whatever other tests have left in it
+    Buffers.clearBufferPool();
+  }
+
+  @After
+  public void tearDown() {
+    Buffers.clearBufferPool();
+  }
+
+  @Test
+  public void sizeClassIsFloorOfLog2() {
+    assertEquals(0, Buffers.getSizeClass(1));
+    assertEquals(1, Buffers.getSizeClass(2));
+    assertEquals(1, Buffers.getSizeClass(3));
+    assertEquals(12, Buffers.getSizeClass(4096));
+    assertEquals(12, Buffers.getSizeClass(8191));
+    assertEquals(13, Buffers.getSizeClass(8192));
+    assertEquals(30, Buffers.getSizeClass(Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void releasedBufferIsReusedForSmallerRequest() {
+    assumeTrue(TCPConduit.useDirectBuffers);
+    DMStats stats = mock(DMStats.class);
+
+    ByteBuffer bb = Buffers.acquireSenderBuffer(98765, stats);
+    assertTrue(bb.capacity() >= 98765);
+    Buffers.releaseSenderBuffer(bb, stats);
+
+    ByteBuffer reused = Buffers.acquireSenderBuffer(98000, stats);
+    assertSame(bb, reused);
+    assertEquals(98000, reused.limit());
+    verify(stats, atLeastOnce()).incBufferPoolAcquire(true);
+    Buffers.releaseSenderBuffer(reused, stats);
+  }
+
+  @Test
+  public void bufferInSameClassThatIsTooSmallIsNotUsed() {
+    assumeTrue(TCPConduit.useDirectBuffers);
+    DMStats stats = mock(DMStats.class);
+
+    ByteBuffer small = Buffers.acquireReceiveBuffer(70001, stats);
+    Buffers.releaseReceiveBuffer(small, stats);
+
+    ByteBuffer bigger = Buffers.acquireReceiveBuffer(70003, stats);
+    assertNotSame(small, bigger);
+    assertTrue(bigger.capacity() >= 70003);
+    Buffers.releaseReceiveBuffer(bigger, stats);
+  }
+}
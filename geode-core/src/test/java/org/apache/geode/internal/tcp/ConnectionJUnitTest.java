@@ -14,9 +14,11 @@
  */
 package org.apache.geode.internal.tcp;
 
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 import java.io.InputStream;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 
@@ -81,4 +83,27 @@ public class ConnectionJUnitTest {
     conn.run();
     verify(membership).suspectMember(any(InternalDistributedMember.class), any(String.class));
   }
+
+  /**
+   * Test that connections to a member on the same host get the colocated socket buffer size, and
+   * that other members keep the socket-buffer-size
+   */
+  @Test
+  public void testColocatedSocketBufferSize() throws Exception {
+    InetAddress local = InetAddress.getByName("127.0.0.1");
+    InetAddress sameHost = InetAddress.getByName("127.0.0.1");
+    InetAddress otherHost = InetAddress.getByName("127.0.0.2");
+
+    assertEquals(4 * 1024 * 1024,
+        Connection.getSocketBufferSize(local, sameHost, 32 * 1024, 4 * 1024 * 1024));
+    assertEquals(32 * 1024,
+        Connection.getSocketBufferSize(local, otherHost, 32 * 1024, 4 * 1024 * 1024));
+    // not configured
+    assertEquals(32 * 1024, Connection.getSocketBufferSize(local, sameHost, 32 * 1024, 0));
+    // address not known yet
+    assertEquals(32 * 1024,
+        Connection.getSocketBufferSize(null, sameHost, 32 * 1024, 4 * 1024 * 1024));
+    assertEquals(32 * 1024,
+        Connection.getSocketBufferSize(local, null, 32 * 1024, 4 * 1024 * 1024));
+  }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+import static org.apache.geode.distributed.ConfigurationProperties.*;
+import static org.junit.Assert.*;
+
+import java.util.Properties;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.Statistics;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.distributed.internal.DistributionStats;
+import org.apache.geode.test.dunit.Host;
+import org.apache.geode.test.dunit.VM;
+import org.apache.geode.test.dunit.cache.internal.JUnit4CacheTestCase;
+import org.apache.geode.test.junit.categories.DistributedTest;
+
+/**
+ * Tests p2p.maxThreadOwnedConnectionsPerMember. The property is read when ConnectionTable is
+ * loaded, so the sending VM is bounced before it is set and again once it is cleared.
+ */
+@Category(DistributedTest.class)
+public class ThreadOwnedConnectionLimitDUnitTest extends JUnit4CacheTestCase {
+
+  private static final String MAX_CONNECTIONS_PROPERTY = "p2p.maxThreadOwnedConnectionsPerMember";
+
+  private static final int MAX_CONNECTIONS = 2;
+
+  private static final int THREADS = 6;
+
+  @Override
+  public Properties getDistributedSystemProperties() {
+    Properties props = super.getDistributedSystemProperties();
+    props.setProperty(CONSERVE_SOCKETS, "false");
+    return props;
+  }
+
+  @Override
+  public final void postSetUp() throws Exception {
+    disconnectAllFromDS();
+    VM sender = Host.getHost(0).getVM(0);
+    sender.bounce();
+    sender.invoke(() -> System.setProperty(MAX_CONNECTIONS_PROPERTY, "" + MAX_CONNECTIONS));
+  }
+
+  @Override
+  public final void postTearDownCacheTestCase() throws Exception {
+    disconnectAllFromDS();
+    VM sender = Host.getHost(0).getVM(0);
+    sender.invoke(() -> System.clearProperty(MAX_CONNECTIONS_PROPERTY));
+    sender.bounce();
+  }
+
+  @Test
+  public void testThreadsPastLimitShareOrderedConnection() throws Exception {
+    Host host = Host.getHost(0);
+    VM sender = host.getVM(0);
+    VM receiver = host.getVM(1);
+    final String regionName = getUniqueName();
+
+    receiver.invoke(() -> createRegion(regionName));
+    sender.invoke(() -> createRegion(regionName));
+
+    sender.invoke(() -> {
+      Region region = getCache().getRegion(regionName);
+      // one thread at a time, so that no two threads race past the limit
+      for (int t = 0; t < THREADS; t++) {
+        final int base = t * 10;
+        Thread thread = new Thread(() -> {
+          for (int i = base; i < base + 10; i++) {
+            region.put(i, "value" + i);
+          }
+        });
+        thread.start();
+        thread.join(60000);
+        assertFalse("puts from thread " + t + " did not complete", thread.isAlive());
+      }
+
+      Statistics stats =
+          ((DistributionStats) getSystem().getDistributionManager().getStats()).getStats();
+      int threadOwned = stats.getInt("sendersTO");
+      assertTrue("expected at most " + MAX_CONNECTIONS + " thread-owned senders but had "
+          + threadOwned, threadOwned <= MAX_CONNECTIONS);
+      assertTrue(stats.getInt("sendersSO") > 0);
+    });
+
+    receiver.invoke(() -> {
+      Region region = getCache().getRegion(regionName);
+      for (int i = 0; i < THREADS * 10; i++) {
+        assertEquals("value" + i, region.get(i));
+      }
+    });
+  }
+
+  private void createRegion(String regionName) {
+    getCache().createRegionFactory(RegionShortcut.REPLICATE).create(regionName);
+  }
+}